@@ -0,0 +1,361 @@
+package api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Engine that sends each number to whichever factoring strategy is fastest
+ * for its magnitude on this machine. A short calibration run times every
+ * strategy on sample numbers of each bit length; the winners are cached in a
+ * properties file so later instances start without measuring again.
+ */
+public class AdaptiveComputationEngine extends OptimizedComputationEngineImpl {
+
+    /**
+     * Ways of factoring a single number.
+     */
+    public enum Strategy {
+        // Loop over candidate divisors up to the square root, vectorized when available
+        TRIAL_DIVISION,
+        // Smallest-prime-factor table within its bound, division by table primes above it
+        SIEVE,
+        // Miller-Rabin and Pollard-Brent rho
+        RHO
+    }
+
+    public static final String DEFAULT_CACHE_FILE = "factor-engine-calibration.properties";
+
+    // Bump when the strategies or the measurement change, so old cache files are ignored
+    private static final int CALIBRATION_VERSION = 1;
+    private static final int SAMPLES_PER_MAGNITUDE = 32;
+    // Each strategy keeps its best of several rounds, which filters out GC pauses and JIT compiles
+    private static final int MEASUREMENT_ROUNDS = 5;
+    private static final int MAX_BITS = Integer.SIZE - 1;
+
+    private final VectorComputationEngineImpl trial = new VectorComputationEngineImpl();
+    private final SieveComputationEngineImpl sieve;
+    private final Path cacheFile;
+    // Strategy and measured nanoseconds per number, indexed by bit length
+    private volatile Strategy[] strategies;
+    private volatile double[][] timings;
+    private volatile boolean loadedFromCache;
+    private volatile long calibrationMillis;
+
+    /**
+     * Gets the engine shared by every default coordinator and by batch mode.
+     * It is created on the first call, so the sieve table is built and the
+     * calibration loaded or measured at most once per JVM. Recalibrating it
+     * affects every user.
+     *
+     * @return The shared engine
+     */
+    public static AdaptiveComputationEngine shared() {
+        return Shared.ENGINE;
+    }
+
+    /**
+     * Creates an engine with the calibration cached in java.io.tmpdir. If the
+     * factor.table system property names a file made by MappedSmallestFactorTable,
+     * the sieve maps it instead of building its own table.
+     */
+    public AdaptiveComputationEngine() {
+        this(Paths.get(System.getProperty("java.io.tmpdir"), DEFAULT_CACHE_FILE), defaultTable());
+    }
+
+    /**
+     * Creates an engine, loading its calibration from a cache file or
+     * measuring it if the file is missing or was made for another setup.
+     *
+     * @param cacheFile Where the calibration is cached, or null to always measure
+     * @param sieveBound The largest number held in the sieve table
+     */
+    public AdaptiveComputationEngine(Path cacheFile, int sieveBound) {
+        this(cacheFile, SmallestFactorTable.build(sieveBound));
+    }
+
+    /**
+     * Creates an engine whose sieve strategy uses an existing table.
+     *
+     * @param cacheFile Where the calibration is cached, or null to always measure
+     * @param table The smallest-prime-factor table for the sieve strategy
+     */
+    public AdaptiveComputationEngine(Path cacheFile, SmallestFactorTable table) {
+        this.sieve = new SieveComputationEngineImpl(table);
+        this.cacheFile = cacheFile;
+        if (!loadCalibration()) {
+            recalibrate();
+        }
+    }
+
+    /**
+     * Measures every strategy again and replaces the cached calibration.
+     */
+    public synchronized void recalibrate() {
+        long start = System.nanoTime();
+        double[][] measured = measure();
+        Strategy[] chosen = new Strategy[MAX_BITS + 1];
+        for (int bits = 0; bits <= MAX_BITS; bits++) {
+            chosen[bits] = fastest(measured[bits]);
+        }
+        this.timings = measured;
+        this.strategies = chosen;
+        this.loadedFromCache = false;
+        this.calibrationMillis = (System.nanoTime() - start) / 1_000_000;
+        saveCalibration();
+    }
+
+    /**
+     * Gets the strategy used for a number.
+     *
+     * @param number The number to factor
+     * @return The strategy chosen for its magnitude
+     */
+    public Strategy getStrategy(int number) {
+        if (number < 1) {
+            return Strategy.TRIAL_DIVISION;
+        }
+        return strategies[Integer.SIZE - Integer.numberOfLeadingZeros(number)];
+    }
+
+    /**
+     * Describes the calibration: where it came from, and which strategy
+     * handles each range of numbers with the measured time per number.
+     *
+     * @return A multi-line report
+     */
+    public String getDiagnostics() {
+        Strategy[] chosen = strategies;
+        double[][] measured = timings;
+        StringBuilder report = new StringBuilder();
+        report.append("Calibration: ")
+                .append(loadedFromCache ? "loaded from " + cacheFile : "measured in " + calibrationMillis + " ms")
+                .append('\n');
+        report.append("Sieve bound: ").append(sieve.getBound()).append('\n');
+        report.append("Vectorized trial division: ").append(VectorComputationEngineImpl.isVectorized()).append('\n');
+        int bits = 1;
+        while (bits <= MAX_BITS) {
+            int end = bits;
+            while (end < MAX_BITS && chosen[end + 1] == chosen[bits]) {
+                end++;
+            }
+            long low = 1L << (bits - 1);
+            long high = end == MAX_BITS ? Integer.MAX_VALUE : (1L << end) - 1;
+            report.append(String.format(Locale.ROOT, "[%d, %d]: %s", low, high, chosen[bits]));
+            if (measured != null) {
+                // Times at the top of the range, where the choice matters most
+                report.append(String.format(Locale.ROOT, " (trial %.0f ns, sieve %.0f ns, rho %.0f ns)",
+                        measured[end][0], measured[end][1], measured[end][2]));
+            }
+            report.append('\n');
+            bits = end + 1;
+        }
+        return report.toString();
+    }
+
+    @Override
+    public List<Integer> findFactors(int number) {
+        int[] scratch = new int[MAX_FACTOR_COUNT];
+        int count = findFactorsInto(number, scratch);
+        List<Integer> factors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            factors.add(scratch[i]);
+        }
+        return factors;
+    }
+
+    @Override
+    public int findFactorsInto(int number, int[] scratch) {
+        return findFactorsInto(getStrategy(number), number, scratch);
+    }
+
+    @Override
+    public FactorBatch findFactorsBatch(int[] numbers, boolean deduplicate) {
+        return FactorBatch.compute(numbers, deduplicate, this::findFactorsInto);
+    }
+
+    @Override
+    public PrimeFactorization factorize(int number) {
+        switch (getStrategy(number)) {
+            case SIEVE:
+                return sieve.factorize(number);
+            case RHO:
+                PrimeFactorization.requirePositive(number);
+                long[] primes = new long[LongFactorizer.MAX_DISTINCT_PRIMES];
+                int[] exponents = new int[LongFactorizer.MAX_DISTINCT_PRIMES];
+                int count = LongFactorizer.factorize(number, primes, exponents);
+                return new PrimeFactorization(number, toIntPrimes(primes, count), exponents, count);
+            default:
+                return PrimeFactorization.trialDivision(number);
+        }
+    }
+
+    private int findFactorsInto(Strategy strategy, int number, int[] scratch) {
+        switch (strategy) {
+            case SIEVE:
+                return sieve.findFactorsInto(number, scratch);
+            case RHO:
+                ComputationAPI.requireScratch(scratch);
+                if (number < 1) {
+                    return 0;
+                }
+                long[] primes = new long[LongFactorizer.MAX_DISTINCT_PRIMES];
+                int[] exponents = new int[LongFactorizer.MAX_DISTINCT_PRIMES];
+                int count = LongFactorizer.factorize(number, primes, exponents);
+                return Divisors.write(toIntPrimes(primes, count), exponents, count, scratch);
+            default:
+                return trial.findFactorsInto(number, scratch);
+        }
+    }
+
+    private static int[] toIntPrimes(long[] primes, int count) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = (int) primes[i];
+        }
+        return result;
+    }
+
+    // Best nanoseconds per number for each strategy, on samples of every bit length
+    private double[][] measure() {
+        Strategy[] all = Strategy.values();
+        int[][] samples = new int[MAX_BITS + 1][SAMPLES_PER_MAGNITUDE];
+        double[][] measured = new double[MAX_BITS + 1][all.length];
+        for (int bits = 1; bits <= MAX_BITS; bits++) {
+            Random random = new Random(bits);
+            long low = 1L << (bits - 1);
+            long span = Math.min((1L << bits) - 1, Integer.MAX_VALUE) - low + 1;
+            for (int i = 0; i < SAMPLES_PER_MAGNITUDE; i++) {
+                samples[bits][i] = (int) (low + (long) (random.nextDouble() * span));
+            }
+            Arrays.fill(measured[bits], Double.MAX_VALUE);
+        }
+
+        int[] scratch = new int[MAX_FACTOR_COUNT];
+        // The first round only warms up the JIT and is not recorded
+        for (int round = 0; round <= MEASUREMENT_ROUNDS; round++) {
+            for (int bits = 1; bits <= MAX_BITS; bits++) {
+                for (Strategy strategy : all) {
+                    long start = System.nanoTime();
+                    for (int sample : samples[bits]) {
+                        findFactorsInto(strategy, sample, scratch);
+                    }
+                    double nanos = (System.nanoTime() - start) / (double) SAMPLES_PER_MAGNITUDE;
+                    if (round > 0) {
+                        measured[bits][strategy.ordinal()] = Math.min(measured[bits][strategy.ordinal()], nanos);
+                    }
+                }
+            }
+        }
+        measured[0] = measured[1];
+        return measured;
+    }
+
+    private static Strategy fastest(double[] measured) {
+        Strategy best = Strategy.TRIAL_DIVISION;
+        for (Strategy strategy : Strategy.values()) {
+            if (measured[strategy.ordinal()] < measured[best.ordinal()]) {
+                best = strategy;
+            }
+        }
+        return best;
+    }
+
+    private static SmallestFactorTable defaultTable() {
+        String file = System.getProperty("factor.table");
+        if (file != null) {
+            try {
+                return MappedSmallestFactorTable.open(Paths.get(file));
+            } catch (IOException e) {
+                System.err.println("Could not map factor table " + file + ", sieving instead: " + e.getMessage());
+            }
+        }
+        return SmallestFactorTable.build(SieveComputationEngineImpl.DEFAULT_BOUND);
+    }
+
+    // Created on first use by the class loader, which also makes it safely shared
+    private static final class Shared {
+        static final AdaptiveComputationEngine ENGINE = new AdaptiveComputationEngine();
+    }
+
+    // Identifies the setup a calibration is valid for
+    private String fingerprint() {
+        return CALIBRATION_VERSION + "/" + System.getProperty("java.vm.version") + "/" + System.getProperty("os.arch")
+                + "/" + Runtime.getRuntime().availableProcessors() + "/" + VectorComputationEngineImpl.isVectorized()
+                + "/" + sieve.getBound();
+    }
+
+    private boolean loadCalibration() {
+        if (cacheFile == null || !Files.isReadable(cacheFile)) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(cacheFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return false;
+        }
+        if (!fingerprint().equals(properties.getProperty("fingerprint"))) {
+            return false;
+        }
+        Strategy[] chosen = new Strategy[MAX_BITS + 1];
+        double[][] measured = new double[MAX_BITS + 1][Strategy.values().length];
+        try {
+            for (int bits = 0; bits <= MAX_BITS; bits++) {
+                chosen[bits] = Strategy.valueOf(properties.getProperty("strategy." + bits));
+                for (Strategy strategy : Strategy.values()) {
+                    measured[bits][strategy.ordinal()] = Double.parseDouble(
+                            properties.getProperty("nanos." + bits + "." + strategy.name()));
+                }
+            }
+        } catch (IllegalArgumentException | NullPointerException e) {
+            // Damaged or incomplete file; measure again
+            return false;
+        }
+        this.strategies = chosen;
+        this.timings = measured;
+        this.loadedFromCache = true;
+        return true;
+    }
+
+    private void saveCalibration() {
+        if (cacheFile == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty("fingerprint", fingerprint());
+        for (int bits = 0; bits <= MAX_BITS; bits++) {
+            properties.setProperty("strategy." + bits, strategies[bits].name());
+            for (Strategy strategy : Strategy.values()) {
+                properties.setProperty("nanos." + bits + "." + strategy.name(),
+                        Double.toString(timings[bits][strategy.ordinal()]));
+            }
+        }
+        try {
+            // Write a temporary file and move it, so concurrent readers never see half a file
+            Path directory = cacheFile.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(directory, "calibration", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, "AdaptiveComputationEngine calibration");
+                }
+                Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // The cache only saves start-up time, so the engine keeps working without it
+            System.err.println("Could not save calibration to " + cacheFile + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package api;
+
+/**
+ * Smallest-prime-factor table held in a char array on the heap.
+ */
+final class ArraySmallestFactorTable implements SmallestFactorTable {
+    private final char[] table;
+    private final int bound;
+
+    ArraySmallestFactorTable(char[] table, int bound) {
+        this.table = table;
+        this.bound = bound;
+    }
+
+    @Override
+    public int getBound() {
+        return bound;
+    }
+
+    @Override
+    public int smallestOddFactor(int oddNumber) {
+        return table[oddNumber >> 1];
+    }
+}
@@ -0,0 +1,65 @@
+package api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads decimal ints from a byte stream, a buffer at a time, without
+ * decoding characters or creating a String per number. Numbers are
+ * separated as by DelimiterSet.DEFAULT, on ASCII whitespace and commas, and
+ * may carry a leading sign. Tokens that are not ints are skipped and
+ * counted, so that callers can report them.
+ */
+public final class AsciiIntParser implements Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = IntCursor.DEFAULT_BUFFER_SIZE;
+
+    private final IntCursor cursor;
+    private long parsed;
+
+    public AsciiIntParser(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public AsciiIntParser(InputStream in, int bufferSize) {
+        this.cursor = new IntCursor(in, DelimiterSet.DEFAULT, bufferSize);
+    }
+
+    /**
+     * Reads numbers until the target is full or the input ends.
+     *
+     * @param target Array receiving the numbers
+     * @return The number of ints read, or -1 if the input had none left
+     * @throws IOException If reading fails
+     */
+    public int read(int[] target) throws IOException {
+        int count = cursor.read(target);
+        if (count > 0) {
+            parsed += count;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of ints read so far.
+     *
+     * @return The parsed count
+     */
+    public long getParsedCount() {
+        return parsed;
+    }
+
+    /**
+     * Gets the number of tokens skipped so far because they were not ints.
+     *
+     * @return The skipped count
+     */
+    public long getSkippedCount() {
+        return cursor.getSkippedCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        cursor.close();
+    }
+}
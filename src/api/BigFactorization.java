@@ -0,0 +1,77 @@
+package api;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Prime factors of an arbitrary-precision number, possibly incomplete.
+ * When the factorization ran out of budget, the part of the number that
+ * was not split is kept as the cofactor, so the primes multiplied by the
+ * cofactor always give back the number.
+ */
+public final class BigFactorization {
+    private final BigInteger number;
+    private final List<BigInteger> primes;
+    private final BigInteger cofactor;
+
+    BigFactorization(BigInteger number, List<BigInteger> primes, BigInteger cofactor) {
+        this.number = number;
+        this.primes = Collections.unmodifiableList(primes);
+        this.cofactor = cofactor;
+    }
+
+    /**
+     * Gets the number that was factored.
+     *
+     * @return The number
+     */
+    public BigInteger getNumber() {
+        return number;
+    }
+
+    /**
+     * Gets the prime factors found, in ascending order and repeated by multiplicity.
+     *
+     * @return The prime factors
+     */
+    public List<BigInteger> getPrimes() {
+        return primes;
+    }
+
+    /**
+     * Gets the part of the number that was not factored.
+     *
+     * @return The unfactored cofactor, 1 if the factorization is complete
+     */
+    public BigInteger getCofactor() {
+        return cofactor;
+    }
+
+    /**
+     * Checks whether the number was factored completely.
+     *
+     * @return True if every prime factor was found
+     */
+    public boolean isComplete() {
+        return cofactor.equals(BigInteger.ONE);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (BigInteger prime : primes) {
+            if (builder.length() > 0) {
+                builder.append(" * ");
+            }
+            builder.append(prime);
+        }
+        if (!isComplete()) {
+            if (builder.length() > 0) {
+                builder.append(" * ");
+            }
+            builder.append('[').append(cofactor).append(']');
+        }
+        return builder.length() == 0 ? "1" : builder.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package api;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Factorization of numbers beyond the long range.
+ * Small primes are removed by trial division, pieces that fit in a long are
+ * handed to LongFactorizer, and larger composites are split with
+ * Pollard-Brent rho. Every loop polls a FactorBudget, and whatever is left
+ * unsplit when the budget runs out is returned as the cofactor.
+ */
+public final class BigFactorizer {
+    // Trial division removes every factor below this bound
+    private static final int TRIAL_LIMIT = 1 << 16;
+    private static final int[] SMALL_PRIMES = Divisors.primesUpTo(TRIAL_LIMIT);
+    // Number of trial divisions between budget checks
+    private static final int TRIAL_CHECK_INTERVAL = 256;
+    // Number of rho steps multiplied together before each gcd and budget check
+    private static final int GCD_BATCH = 64;
+    // Chance of a composite passing isProbablePrime is below 2^-CERTAINTY
+    private static final int CERTAINTY = 64;
+    // Pieces below 2^LONG_BITS are factored exactly with 64-bit arithmetic
+    private static final int LONG_BITS = 62;
+
+    private BigFactorizer() {
+    }
+
+    /**
+     * Factors a number until it is fully split or the budget runs out.
+     *
+     * @param number The number to factor, must be positive
+     * @param budget When to give up and return a partial result
+     * @return The prime factors found and the unfactored cofactor
+     */
+    public static BigFactorization factorize(BigInteger number, FactorBudget budget) {
+        if (number == null || number.signum() <= 0) {
+            throw new IllegalArgumentException("Only positive numbers have a prime factorization: " + number);
+        }
+        if (budget == null) {
+            throw new IllegalArgumentException("Budget cannot be null");
+        }
+        List<BigInteger> primes = new ArrayList<>();
+        BigInteger cofactor = BigInteger.ONE;
+
+        BigInteger remaining = trialDivide(number, primes, budget);
+        Deque<BigInteger> pending = new ArrayDeque<>();
+        if (!remaining.equals(BigInteger.ONE)) {
+            pending.push(remaining);
+        }
+        while (!pending.isEmpty()) {
+            BigInteger piece = pending.pop();
+            if (piece.bitLength() <= LONG_BITS) {
+                addLongFactors(piece.longValueExact(), primes);
+                continue;
+            }
+            if (budget.isExhausted()) {
+                cofactor = cofactor.multiply(piece);
+                continue;
+            }
+            if (piece.isProbablePrime(CERTAINTY)) {
+                primes.add(piece);
+                continue;
+            }
+            BigInteger divisor = pollardBrent(piece, budget);
+            if (divisor == null) {
+                cofactor = cofactor.multiply(piece);
+            } else {
+                pending.push(divisor);
+                pending.push(piece.divide(divisor));
+            }
+        }
+        Collections.sort(primes);
+        return new BigFactorization(number, primes, cofactor);
+    }
+
+    // Removes the small primes, returning what is left once the primes run out or the budget does
+    private static BigInteger trialDivide(BigInteger number, List<BigInteger> primes, FactorBudget budget) {
+        BigInteger n = number;
+        int twos = n.getLowestSetBit();
+        for (int i = 0; i < twos; i++) {
+            primes.add(BigInteger.TWO);
+        }
+        n = n.shiftRight(twos);
+
+        for (int i = 1; i < SMALL_PRIMES.length && n.bitLength() > LONG_BITS; i++) {
+            if (i % TRIAL_CHECK_INTERVAL == 0 && budget.isExhausted()) {
+                break;
+            }
+            BigInteger p = BigInteger.valueOf(SMALL_PRIMES[i]);
+            BigInteger[] division = n.divideAndRemainder(p);
+            while (division[1].signum() == 0) {
+                primes.add(p);
+                n = division[0];
+                division = n.divideAndRemainder(p);
+            }
+        }
+        return n;
+    }
+
+    private static void addLongFactors(long n, List<BigInteger> primes) {
+        long[] factorPrimes = new long[LongFactorizer.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[LongFactorizer.MAX_DISTINCT_PRIMES];
+        int count = LongFactorizer.factorize(n, factorPrimes, exponents);
+        for (int i = 0; i < count; i++) {
+            BigInteger prime = BigInteger.valueOf(factorPrimes[i]);
+            for (int k = 0; k < exponents[i]; k++) {
+                primes.add(prime);
+            }
+        }
+    }
+
+    // Finds a non-trivial divisor of an odd composite n, or null if the budget ran out first
+    private static BigInteger pollardBrent(BigInteger n, FactorBudget budget) {
+        BigInteger root = n.sqrt();
+        if (root.multiply(root).equals(n)) {
+            // Rho cannot split a perfect square of a prime
+            return root;
+        }
+        for (long c = 1; ; c++) {
+            BigInteger increment = BigInteger.valueOf(c);
+            BigInteger y = BigInteger.TWO;
+            BigInteger x = y;
+            BigInteger saved = y;
+            BigInteger product = BigInteger.ONE;
+            BigInteger g = BigInteger.ONE;
+
+            for (long r = 1; g.equals(BigInteger.ONE); r <<= 1) {
+                x = y;
+                for (long i = 0; i < r; i++) {
+                    if ((i & (GCD_BATCH - 1)) == 0 && budget.isExhausted()) {
+                        return null;
+                    }
+                    y = y.multiply(y).add(increment).mod(n);
+                }
+                for (long k = 0; k < r && g.equals(BigInteger.ONE); k += GCD_BATCH) {
+                    if (budget.isExhausted()) {
+                        return null;
+                    }
+                    saved = y;
+                    long steps = Math.min(GCD_BATCH, r - k);
+                    for (long i = 0; i < steps; i++) {
+                        y = y.multiply(y).add(increment).mod(n);
+                        product = product.multiply(x.subtract(y).abs()).mod(n);
+                    }
+                    g = product.gcd(n);
+                }
+            }
+            if (g.equals(n)) {
+                // The batch overshot; replay it one step at a time
+                do {
+                    saved = saved.multiply(saved).add(increment).mod(n);
+                    g = x.subtract(saved).abs().gcd(n);
+                } while (g.equals(BigInteger.ONE));
+            }
+            if (!g.equals(n)) {
+                return g;
+            }
+            // This increment cycled without splitting n; try the next one
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package api;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that memoizes the factors computed by another ComputationAPI.
+ * Entries are kept as EncodedFactorLists in lock-striped LRU maps.
+ * When a stripe is full, a new entry only replaces the least recently used
+ * one if a frequency sketch says it has been requested more often
+ * (TinyLFU admission), so one-off numbers cannot flush out hot ones.
+ */
+public class CachingComputationEngine implements ComputationAPI {
+    public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final ComputationAPI delegate;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    // Receives the delegate's factors on a miss when the caller brings no buffer
+    private final ThreadLocal<int[]> scratch = ThreadLocal.withInitial(() -> new int[MAX_FACTOR_COUNT]);
+
+    public CachingComputationEngine(ComputationAPI delegate) {
+        this(delegate, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public CachingComputationEngine(ComputationAPI delegate, int maximumSize) {
+        this(delegate, maximumSize, DEFAULT_STRIPES);
+    }
+
+    public CachingComputationEngine(ComputationAPI delegate, int maximumSize, int stripeCount) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate engine cannot be null");
+        }
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1");
+        }
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be at least 1");
+        }
+        // Round down to a power of two so a stripe can be picked with a mask,
+        // and never use more stripes than entries
+        int count = Integer.highestOneBit(Math.min(stripeCount, maximumSize));
+        this.delegate = delegate;
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            int capacity = maximumSize / count + (i < maximumSize % count ? 1 : 0);
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    @Override
+    public ComputationResult compute(String inputData, String[] delimiters) {
+        int number;
+        try {
+            number = Integer.parseInt(DelimiterSet.of(delimiters).singleToken(inputData));
+        } catch (NumberFormatException e) {
+            // Invalid, out-of-range or multi-number input is left to the delegate to report
+            return delegate.compute(inputData, delimiters);
+        }
+        // Handed out as stored, without decoding
+        return new EncodedComputationResult(lookup(number, scratch.get()));
+    }
+
+    @Override
+    public List<Integer> findFactors(int number) {
+        EncodedFactorList factors = lookup(number, scratch.get());
+        List<Integer> boxed = new ArrayList<>(factors.size());
+        EncodedFactorList.Cursor cursor = factors.cursor();
+        while (cursor.hasNext()) {
+            boxed.add(cursor.nextInt());
+        }
+        return boxed;
+    }
+
+    @Override
+    public int findFactorsInto(int number, int[] scratch) {
+        ComputationAPI.requireScratch(scratch);
+        return lookup(number, scratch).decodeInto(scratch);
+    }
+
+    /**
+     * Gets the factors of a number in the form they are cached, so they can
+     * be sent on without being decoded.
+     *
+     * @param number The number to factor
+     * @return The encoded factors, shared with the cache
+     */
+    public EncodedFactorList findEncodedFactors(int number) {
+        return lookup(number, scratch.get());
+    }
+
+    @Override
+    public List<Long> findFactorsLong(long number) {
+        return delegate.findFactorsLong(number);
+    }
+
+    @Override
+    public void factorRange(int lo, int hi, FactorConsumer consumer) {
+        // Ranges never repeat a number, so there is nothing to gain from caching them
+        delegate.factorRange(lo, hi, consumer);
+    }
+
+    @Override
+    public PrimeFactorization factorize(int number) {
+        return delegate.factorize(number);
+    }
+
+    @Override
+    public BigFactorization factorizeBig(BigInteger number, FactorBudget budget) {
+        return delegate.factorizeBig(number, budget);
+    }
+
+    @Override
+    public double calculateSum(List<Double> numbers) {
+        return delegate.calculateSum(numbers);
+    }
+
+    @Override
+    public double calculateAverage(List<Double> numbers) {
+        return delegate.calculateAverage(numbers);
+    }
+
+    @Override
+    public double findMinimum(List<Double> numbers) {
+        return delegate.findMinimum(numbers);
+    }
+
+    @Override
+    public double findMaximum(List<Double> numbers) {
+        return delegate.findMaximum(numbers);
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return The hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to be computed by the delegate.
+     *
+     * @return The miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of entries removed to make room for more frequent ones.
+     *
+     * @return The eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the number of computed results that were not admitted because
+     * they were requested less often than the entry they would replace.
+     *
+     * @return The rejection count
+     */
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    /**
+     * Gets the number of cached entries.
+     *
+     * @return The current size of the cache
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes every cached entry. Counters and frequencies are kept.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.entries.clear();
+            }
+        }
+    }
+
+    // On a miss the delegate writes the factors into the buffer before they are encoded
+    private EncodedFactorList lookup(int number, int[] buffer) {
+        int hash = spread(number);
+        Stripe stripe = stripes[hash & stripeMask];
+        Integer key = number;
+        synchronized (stripe) {
+            stripe.sketch.increment(hash);
+            EncodedFactorList cached = stripe.entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+
+        // Compute outside the lock so a slow factorization does not block the stripe
+        misses.increment();
+        int count = delegate.findFactorsInto(number, buffer);
+        EncodedFactorList factors = EncodedFactorList.encode(buffer, count);
+
+        synchronized (stripe) {
+            if (stripe.entries.containsKey(key)) {
+                return factors;
+            }
+            if (stripe.entries.size() >= stripe.capacity) {
+                Iterator<Map.Entry<Integer, EncodedFactorList>> eldest = stripe.entries.entrySet().iterator();
+                Map.Entry<Integer, EncodedFactorList> victim = eldest.next();
+                if (stripe.sketch.frequency(hash) <= stripe.sketch.frequency(spread(victim.getKey()))) {
+                    rejections.increment();
+                    return factors;
+                }
+                eldest.remove();
+                evictions.increment();
+            }
+            stripe.entries.put(key, factors);
+        }
+        return factors;
+    }
+
+    // Mixes the bits of a key so that nearby numbers land in different stripes and counters
+    private static int spread(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Stripe {
+        final int capacity;
+        // Access order, so the first entry is always the least recently used
+        final LinkedHashMap<Integer, EncodedFactorList> entries;
+        final FrequencySketch sketch;
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+            this.sketch = new FrequencySketch(capacity);
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters that estimates how often a key was seen.
+     * All counters are halved once the number of increments reaches ten times
+     * the capacity, so old popularity fades out.
+     */
+    private static final class FrequencySketch {
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int[] SEEDS = {0x97CB3127, 0xB9F7D6A5, 0x8A2F4D1B, 0xC3A5C85D};
+
+        private final long[] table;
+        // Shifts a 32-bit hash down to its top log2(table.length) bits
+        private final int indexShift;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            // One long (16 counters, 4 per row) per entry, rounded up to a power of two
+            int size = Integer.highestOneBit(Math.max(1, capacity) * 2 - 1);
+            this.table = new long[size];
+            this.indexShift = Integer.SIZE - Integer.numberOfTrailingZeros(size);
+            this.sampleSize = Math.max(10, capacity * 10);
+        }
+
+        int frequency(int hash) {
+            int frequency = 15;
+            for (int row = 0; row < SEEDS.length; row++) {
+                frequency = Math.min(frequency, counter(hash, row));
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            int minimum = frequency(hash);
+            if (minimum == 15) {
+                return;
+            }
+            // Conservative update: only the counters at the minimum are raised
+            for (int row = 0; row < SEEDS.length; row++) {
+                if (counter(hash, row) == minimum) {
+                    int index = index(hash, row);
+                    table[index] += 1L << shift(hash, row);
+                }
+            }
+            if (++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions /= 2;
+            }
+        }
+
+        private int counter(int hash, int row) {
+            return (int) (table[index(hash, row)] >>> shift(hash, row)) & 0xF;
+        }
+
+        private int index(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[row];
+            // The top bits are the best mixed by the multiply; a long shift keeps a one-entry table at index 0
+            return (int) (Integer.toUnsignedLong(h) >>> indexShift);
+        }
+
+        // Each row uses its own group of four counters within the chosen long
+        private int shift(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[row];
+            return ((row << 2) + (h & 3)) << 2;
+        }
+    }
+}
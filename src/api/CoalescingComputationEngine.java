@@ -0,0 +1,176 @@
+package api;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that stops concurrent callers from factoring the same number twice.
+ * The first caller for a number computes it; callers that arrive while that
+ * computation is running wait on its future and share the result.
+ * Nothing is kept once the computation finishes, so this is not a cache.
+ *
+ * <p>Only single-number calls are coalesced. Batches go straight to the
+ * delegate, whose batch path already factors each distinct value once and
+ * is far cheaper than a map entry and a future per number.
+ */
+public class CoalescingComputationEngine implements ComputationAPI {
+    private final ComputationAPI delegate;
+    private final ConcurrentMap<Integer, CompletableFuture<int[]>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    // Reused by the leader of each computation, which copies out only the factors it found
+    private final ThreadLocal<int[]> scratch = ThreadLocal.withInitial(() -> new int[MAX_FACTOR_COUNT]);
+
+    public CoalescingComputationEngine(ComputationAPI delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate engine cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ComputationResult compute(String inputData, String[] delimiters) {
+        int number;
+        try {
+            number = Integer.parseInt(DelimiterSet.of(delimiters).singleToken(inputData));
+        } catch (NumberFormatException e) {
+            // Invalid, out-of-range or multi-number input is left to the delegate to report
+            return delegate.compute(inputData, delimiters);
+        }
+        int[] factors = lookup(number);
+        return new PrimitiveComputationResult(factors.clone(), factors.length);
+    }
+
+    @Override
+    public List<Integer> findFactors(int number) {
+        int[] factors = lookup(number);
+        List<Integer> boxed = new ArrayList<>(factors.length);
+        for (int factor : factors) {
+            boxed.add(factor);
+        }
+        return boxed;
+    }
+
+    @Override
+    public int findFactorsInto(int number, int[] scratch) {
+        ComputationAPI.requireScratch(scratch);
+        int[] factors = lookup(number);
+        System.arraycopy(factors, 0, scratch, 0, factors.length);
+        return factors.length;
+    }
+
+    @Override
+    public FactorBatch findFactorsBatch(int[] numbers, boolean deduplicate) {
+        return delegate.findFactorsBatch(numbers, deduplicate);
+    }
+
+    @Override
+    public List<Long> findFactorsLong(long number) {
+        return delegate.findFactorsLong(number);
+    }
+
+    @Override
+    public void factorRange(int lo, int hi, FactorConsumer consumer) {
+        delegate.factorRange(lo, hi, consumer);
+    }
+
+    @Override
+    public PrimeFactorization factorize(int number) {
+        return delegate.factorize(number);
+    }
+
+    @Override
+    public BigFactorization factorizeBig(BigInteger number, FactorBudget budget) {
+        return delegate.factorizeBig(number, budget);
+    }
+
+    @Override
+    public double calculateSum(List<Double> numbers) {
+        return delegate.calculateSum(numbers);
+    }
+
+    @Override
+    public double calculateAverage(List<Double> numbers) {
+        return delegate.calculateAverage(numbers);
+    }
+
+    @Override
+    public double findMinimum(List<Double> numbers) {
+        return delegate.findMinimum(numbers);
+    }
+
+    @Override
+    public double findMaximum(List<Double> numbers) {
+        return delegate.findMaximum(numbers);
+    }
+
+    /**
+     * Gets the number of factorizations actually run by the delegate.
+     *
+     * @return The computed count
+     */
+    public long getComputedCount() {
+        return computed.sum();
+    }
+
+    /**
+     * Gets the number of calls that waited for another thread's result
+     * instead of computing their own.
+     *
+     * @return The coalesced count
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Gets the number of factorizations currently running.
+     *
+     * @return The in-flight count
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private int[] lookup(int number) {
+        CompletableFuture<int[]> own = new CompletableFuture<>();
+        CompletableFuture<int[]> running = inFlight.putIfAbsent(number, own);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                // Rethrow the leader's failure as it was thrown
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+
+        computed.increment();
+        try {
+            int[] buffer = scratch.get();
+            int count = delegate.findFactorsInto(number, buffer);
+            int[] factors = Arrays.copyOf(buffer, count);
+            own.complete(factors);
+            return factors;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(number, own);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package api;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
 import java.util.List;
 import project.annotations.ConceptualAPI;
 
@@ -9,14 +12,38 @@ import project.annotations.ConceptualAPI;
 @ConceptualAPI
 public interface ComputationAPI {
     /**
-     * Computes results based on input data and specified delimiters.
+     * Largest number of divisors of any positive int (reached by 2095133040),
+     * and therefore the smallest scratch buffer findFactorsInto accepts.
+     */
+    int MAX_FACTOR_COUNT = 1600;
+    
+    /**
+     * Computes the factors of a single number held in a string. The input is
+     * split on whitespace, commas and the delimiters like the streaming
+     * overload, and fails with a message if it holds more than one number;
+     * such input should go through the streaming compute overload.
      * 
      * @param inputData The input data to process
-     * @param delimiters The delimiters used in the input data
+     * @param delimiters Characters that separate numbers, in addition to whitespace and commas
      * @return The computation result
      */
     ComputationResult compute(String inputData, String[] delimiters);
     
+    /**
+     * Factors every number in a stream, splitting it on whitespace and the
+     * given delimiters. Numbers are read and factored a batch at a time, so
+     * the input is never held in memory as a whole.
+     * 
+     * @param input The text to read numbers from
+     * @param delimiters Characters that separate numbers, in addition to whitespace
+     * @param sink Receives the factors of each number, and each token that is not an int, in input order
+     * @return The number of tokens read, valid or not
+     * @throws IOException If reading the input fails
+     */
+    default long compute(Reader input, String[] delimiters, FactorConsumer sink) throws IOException {
+        return FactorStream.factor(this, input, delimiters, sink);
+    }
+    
     /**
      * Finds the factors of a given number.
      * 
@@ -25,6 +52,165 @@ public interface ComputationAPI {
      */
     List<Integer> findFactors(int number);
     
+    /**
+     * Finds the factors of a given number without boxing them.
+     * 
+     * @param number The number to find factors for
+     * @param scratch Buffer receiving the factors in ascending order, at least MAX_FACTOR_COUNT long
+     * @return The number of factors written to the buffer
+     */
+    default int findFactorsInto(int number, int[] scratch) {
+        requireScratch(scratch);
+        List<Integer> factors = findFactors(number);
+        int count = 0;
+        for (Integer factor : factors) {
+            scratch[count++] = factor;
+        }
+        return count;
+    }
+    
+    /**
+     * Finds the factors of every number in a batch.
+     * 
+     * @param numbers The numbers to find factors for
+     * @return The factors of each number, in input order
+     */
+    default FactorBatch findFactorsBatch(int[] numbers) {
+        return findFactorsBatch(numbers, false);
+    }
+    
+    /**
+     * Finds the factors of every number in a batch, optionally factoring
+     * each distinct value only once.
+     * 
+     * @param numbers The numbers to find factors for
+     * @param deduplicate Whether to sort and deduplicate the inputs internally
+     * @return The factors of each number, in input order
+     */
+    default FactorBatch findFactorsBatch(int[] numbers, boolean deduplicate) {
+        return FactorBatch.compute(numbers, deduplicate, this::findFactorsInto);
+    }
+    
+    /**
+     * Finds the factors of a number that may exceed the int range.
+     * 
+     * @param number The number to find factors for
+     * @return List of factors in ascending order
+     */
+    default List<Long> findFactorsLong(long number) {
+        return LongFactorizer.divisorList(number);
+    }
+
+    /**
+     * Finds the factors of every number in a contiguous range with a
+     * segmented sieve, which is far cheaper than one findFactors call per number.
+     *
+     * @param lo The first number of the range
+     * @param hi The last number of the range, inclusive
+     * @param consumer Receives the factors of each number, in ascending order of the numbers
+     */
+    default void factorRange(int lo, int hi, FactorConsumer consumer) {
+        new SegmentedSieveFactorizer().factorRange(lo, hi, consumer);
+    }
+
+    /**
+     * Splits a positive number into its prime factorization.
+     * 
+     * @param number The number to factor, must be positive
+     * @return The prime factorization of the number
+     */
+    default PrimeFactorization factorize(int number) {
+        return PrimeFactorization.trialDivision(number);
+    }
+    
+    /**
+     * Splits a number of any size into primes, stopping with a partial result
+     * once the budget runs out.
+     * 
+     * @param number The number to factor, must be positive
+     * @param budget The time limit and cancellation flag to poll
+     * @return The prime factors found and the unfactored cofactor
+     */
+    default BigFactorization factorizeBig(BigInteger number, FactorBudget budget) {
+        return BigFactorizer.factorize(number, budget);
+    }
+    
+    /**
+     * Answers an aggregate divisor query, such as the divisor count or sum,
+     * from the prime factorization instead of the full list of factors.
+     * 
+     * @param number The number to query, must be positive
+     * @param query The query to answer
+     * @return The answer, with 1 and 0 standing for true and false
+     */
+    default long query(int number, FactorQuery query) {
+        return query.evaluate(factorize(number));
+    }
+
+    /**
+     * Calculates the greatest common divisor of a list of numbers.
+     * 
+     * @param numbers The numbers, whose signs are ignored
+     * @return The greatest common divisor, 0 for an empty list
+     */
+    default long gcd(int[] numbers) {
+        return GcdOperations.gcd(numbers);
+    }
+    
+    /**
+     * Calculates the least common multiple of a list of numbers.
+     * 
+     * @param numbers The numbers, whose signs are ignored
+     * @return The least common multiple, 1 for an empty list and 0 if any number is 0
+     */
+    default BigInteger lcm(int[] numbers) {
+        return GcdOperations.lcm(numbers);
+    }
+    
+    /**
+     * Finds, for every input, its GCD with the product of all the other
+     * inputs, using a product tree instead of comparing every pair.
+     * 
+     * @param numbers The numbers, all positive
+     * @return The shared factor of each input, above 1 if it shares a factor with another input
+     */
+    default long[] sharedFactors(int[] numbers) {
+        return GcdOperations.sharedFactors(numbers);
+    }
+    
+    /**
+     * Groups the inputs so that numbers in different groups are coprime.
+     * 
+     * @param numbers The numbers, all positive
+     * @return For each input, the index of the first input in its group
+     */
+    default int[] coprimeGroups(int[] numbers) {
+        return GcdOperations.coprimeGroups(numbers, this::factorize);
+    }
+    
+    /**
+     * Calculates the count, sum, average, minimum, maximum and variance of
+     * an array in a single pass.
+     * 
+     * @param numbers The numbers to summarize
+     * @return The statistics of the numbers
+     */
+    default StatisticsAccumulator calculateStatistics(double[] numbers) {
+        return StatisticsAccumulator.of(numbers);
+    }
+
+    /**
+     * Calculates the same statistics as calculateStatistics, optionally
+     * splitting the array across the common ForkJoinPool.
+     *
+     * @param numbers The numbers to summarize
+     * @param parallel Whether to summarize chunks of the array in parallel
+     * @return The statistics of the numbers
+     */
+    default StatisticsAccumulator calculateStatistics(double[] numbers, boolean parallel) {
+        return parallel ? new ParallelStatistics().compute(numbers) : calculateStatistics(numbers);
+    }
+
     /**
      * Calculates the sum of a list of numbers.
      * 
@@ -56,5 +242,15 @@ public interface ComputationAPI {
      * @return The maximum value
      */
     double findMaximum(List<Double> numbers);
+    
+    /**
+     * Checks that a scratch buffer can hold the factors of any int.
+     * 
+     * @param scratch The buffer to check
+     */
+    static void requireScratch(int[] scratch) {
+        if (scratch == null || scratch.length < MAX_FACTOR_COUNT) {
+            throw new IllegalArgumentException("Scratch buffer must hold at least " + MAX_FACTOR_COUNT + " factors");
+        }
+    }
 }
-
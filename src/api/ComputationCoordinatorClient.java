@@ -1,12 +1,15 @@
 package api;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import coordinatorservice.ComputationCoordinatorGrpc;
 import coordinatorservice.ComputationResponse;
+import coordinatorservice.FactorResult;
 import coordinatorservice.FileRequest;
 import coordinatorservice.NumberListRequest;
 import coordinatorservice.StatusRequest;
@@ -38,6 +41,11 @@ public class ComputationCoordinatorClient {
 
     // Submits a list of numbers for computation processing using blocking stub
     public String submitNumberList(List<Double> numbers, String outputFile, String delimiter) {
+        return submitNumberList(numbers, outputFile, delimiter, false);
+    }
+
+    // Submits a list of numbers, asking the server to keep their factors for getFactorResults
+    public String submitNumberList(List<Double> numbers, String outputFile, String delimiter, boolean returnFactors) {
         logger.info("Submitting number list...");
 
         // Build the request with all parameters
@@ -45,6 +53,7 @@ public class ComputationCoordinatorClient {
                 .addAllNumbers(numbers)
                 .setOutputFile(outputFile)
                 .setDelimiter(delimiter)
+                .setReturnFactors(returnFactors)
                 .build();
 
         try {
@@ -91,6 +100,25 @@ public class ComputationCoordinatorClient {
         }
     }
 
+    // Fetches the factors of a completed job submitted with returnFactors, keyed by
+    // number in input order. The encoded bytes are wrapped as received, not decoded.
+    public Map<Integer, EncodedFactorList> getFactorResults(String jobId) {
+        StatusRequest request = StatusRequest.newBuilder()
+                .setJobId(jobId)
+                .build();
+        try {
+            StatusResponse response = blockingStub.getStatus(request);
+            Map<Integer, EncodedFactorList> factors = new LinkedHashMap<>();
+            for (FactorResult result : response.getFactorResultsList()) {
+                factors.put(result.getNumber(), FactorResultMessages.fromMessage(result));
+            }
+            return factors;
+        } catch (StatusRuntimeException e) {
+            logger.log(Level.WARNING, "RPC failed: {0}", e.getStatus());
+            return null;
+        }
+    }
+
     // Polls the server for job status until completion.
     // Runs in a separate thread to avoid blocking the main thread.
     // @param jobId The ID of the job to monitor
@@ -1,45 +1,129 @@
 package api;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class ComputationCoordinatorImpl implements ComputationCoordinator {
     private final ComputationAPI computeEngine;
     private final DataStorage dataStorage;
+    // When set, each number is answered with this query instead of its full list of factors
+    private final FactorQuery query;
 
     public ComputationCoordinatorImpl(ComputationAPI computeEngine, DataStorage dataStorage) {
+        this(computeEngine, dataStorage, null);
+    }
+
+    public ComputationCoordinatorImpl(ComputationAPI computeEngine, DataStorage dataStorage, FactorQuery query) {
         this.computeEngine = computeEngine;
         this.dataStorage = dataStorage;
+        this.query = query;
     }
 
     @Override
     public ComputeResult compute(ComputeRequest request) {
-        try {
-            // Read input data
-            String inputData = dataStorage.readData(request.getSourcePath(), request.getDelimiters());
-            
-            // Perform computation
-            ComputationResult result = computeEngine.compute(inputData, request.getDelimiters());
-            
-            // Write results if computation was successful
-            if (result.isSuccess()) {
-                String outputData = formatOutput(result.getFactors());
-                dataStorage.writeDataContent(request.getDestinationPath(), outputData);
-                return new ComputeResponseImpl(true, null);
-            }
-            
-            return new ComputeResponseImpl(false, "Computation failed: " + result.getMessage());
+        String[] delimiters = request.getDelimiters();
+        // The input is read and the output written a batch at a time, so files of any size stream through.
+        // The output is staged and only committed on success, so a failed job leaves nothing behind
+        try (Reader input = dataStorage.openReader(request.getSourcePath());
+                StagedWriter staged = dataStorage.openWriter(request.getDestinationPath())) {
+            FactorWriter output = new FactorWriter(staged);
+            LineSink sink = new LineSink(output);
+            if (query == null) {
+                computeEngine.compute(input, delimiters, sink);
+            } else {
+                answerQueries(input, delimiters, sink);
+            }
+            if (sink.invalidToken != null) {
+                return new ComputeResponseImpl(false, "Computation failed: Invalid input data: " + sink.invalidToken);
+            }
+            if (sink.lines == 0) {
+                return new ComputeResponseImpl(false, "Computation failed: No input data");
+            }
+            output.flush();
+            staged.commit();
+            return new ComputeResponseImpl(true, null);
+        } catch (UncheckedIOException e) {
+            return new ComputeResponseImpl(false, e.getCause().getMessage());
         } catch (Exception e) {
             return new ComputeResponseImpl(false, e.getMessage());
         }
     }
     
-    private String formatOutput(List<Integer> factors) {
-        if (factors == null || factors.isEmpty()) {
-            return "No factors found";
+    // One answer per input number, in input order; divisor lists are never built
+    private void answerQueries(Reader input, String[] delimiters, LineSink sink) throws IOException {
+        NumberTokenizer tokens = new NumberTokenizer(input, delimiters);
+        StringBuilder answer = new StringBuilder(32);
+        while (tokens.next()) {
+            if (!tokens.isValid()) {
+                sink.reject(tokens.token());
+            } else if (tokens.value() < 1) {
+                sink.writeLine("No factors found");
+            } else {
+                answer.setLength(0);
+                sink.writeLine(query.appendAnswer(answer, computeEngine.factorize(tokens.value())).toString());
+            }
+        }
+    }
+    
+    // Writes one line per number in input order and remembers the first token that was not an int
+    private static final class LineSink implements FactorConsumer {
+        private final FactorWriter output;
+        private long lines;
+        private String invalidToken;
+        
+        LineSink(FactorWriter output) {
+            this.output = output;
+        }
+        
+        @Override
+        public void accept(int number, int[] factors, int offset, int count) {
+            try {
+                startLine();
+                if (count == 0) {
+                    output.write("No factors found");
+                } else {
+                    output.write("Factors: ").writeFactors(factors, offset, count, ", ");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        @Override
+        public void acceptLong(long number, List<Long> factors) {
+            try {
+                startLine();
+                if (factors.isEmpty()) {
+                    output.write("No factors found");
+                    return;
+                }
+                output.write("Factors: ").write(Long.toString(factors.get(0)));
+                for (int i = 1; i < factors.size(); i++) {
+                    output.write(", ").write(Long.toString(factors.get(i)));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        @Override
+        public void reject(String token) {
+            if (invalidToken == null) {
+                invalidToken = token;
+            }
+        }
+        
+        void writeLine(String text) throws IOException {
+            startLine();
+            output.write(text);
+        }
+        
+        private void startLine() throws IOException {
+            if (lines++ > 0) {
+                output.write("\n");
+            }
         }
-        return "Factors: " + factors.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(", "));
     }
 }
@@ -2,7 +2,9 @@ package api;
 
 import coordinator.AbstractCoordinator;
 import coordinator.MultiThreadedCoordinator; // Use your existing multithreaded coordinator
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -14,9 +16,12 @@ import coordinatorservice.CreateCoordinatorRequest;
 import coordinatorservice.CreateCoordinatorResponse;
 import coordinatorservice.DeleteCoordinatorRequest;
 import coordinatorservice.DeleteCoordinatorResponse;
+import coordinatorservice.FactorResult;
 import coordinatorservice.FileRequest;
 import coordinatorservice.GetCoordinatorRequest;
 import coordinatorservice.GetCoordinatorResponse;
+import coordinatorservice.IndexQueryRequest;
+import coordinatorservice.IndexQueryResponse;
 import coordinatorservice.JobStatus;
 import coordinatorservice.NumberListRequest;
 import coordinatorservice.StatusRequest;
@@ -33,7 +38,28 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 public class ComputationCoordinatorServiceImpl extends ComputationCoordinatorImplBase {
+    // An index holds about 70 bytes per input, so only the latest few are kept queryable
+    static final int MAX_RETAINED_INDEXES = 8;
+    // Factor results are kept for the same few latest jobs
+    static final int MAX_RETAINED_FACTOR_RESULTS = 8;
+    // Statuses and statistics of finished jobs are forgotten oldest first beyond this many
+    static final int MAX_FINISHED_JOBS = 1024;
+
     private final ConcurrentHashMap<String, JobStatus> jobStatus = new ConcurrentHashMap<>();
+    // Statistics of each job's input numbers, reported by getStatus
+    private final ConcurrentHashMap<String, StatisticsAccumulator> jobStatistics = new ConcurrentHashMap<>();
+    // Prime indexes of the jobs submitted with build_index, published once complete
+    private final ConcurrentHashMap<String, PrimeIndex> jobIndexes = new ConcurrentHashMap<>();
+    // Jobs in jobIndexes, oldest first
+    private final Deque<String> indexedJobs = new ArrayDeque<>();
+    // Factors of the jobs submitted with return_factors, sent as encoded by the cache
+    private final ConcurrentHashMap<String, List<FactorResult>> jobFactors = new ConcurrentHashMap<>();
+    // Jobs in jobFactors, oldest first
+    private final Deque<String> factoredJobs = new ArrayDeque<>();
+    // Repeated numbers across jobs are factored and encoded once
+    private final CachingComputationEngine factorCache = new CachingComputationEngine(new OptimizedComputationEngineImpl());
+    // Jobs that completed or failed, oldest first
+    private final Deque<String> finishedJobs = new ArrayDeque<>();
     private final ExecutorService executor = Executors.newFixedThreadPool(4);
     
     // Use your existing MultiThreadedCoordinator
@@ -98,12 +124,15 @@ public class ComputationCoordinatorServiceImpl extends ComputationCoordinatorImp
             String tempInputPath = "temp_input_" + jobId + ".txt";
             String outputPath = request.getOutputFile();
             
-            // Write numbers to the file
+            // Write numbers to the file, gathering their statistics in the same pass
+            StatisticsAccumulator statistics = new StatisticsAccumulator();
             try (FileOutputStream out = new FileOutputStream(tempInputPath)) {
                 for (double number : request.getNumbersList()) {
-                    out.write((String.valueOf(number) + "\n").getBytes());
+                    out.write((formatNumber(number) + "\n").getBytes());
+                    statistics.accept(number);
                 }
             }
+            jobStatistics.put(jobId, statistics);
             
             // Update job status
             JobStatus status = JobStatus.newBuilder()
@@ -126,8 +155,20 @@ public class ComputationCoordinatorServiceImpl extends ComputationCoordinatorImp
                             .build());
                     
                     // Use existing coordinator to process the computation
-                    coordinator.startComputation(tempInputPath, outputPath, 
-                            request.getDelimiter().charAt(0));
+                    if (request.getBuildIndex()) {
+                        PrimeIndex index = coordinator.startIndexedComputation(tempInputPath, outputPath,
+                                request.getDelimiter().charAt(0));
+                        if (index == null) {
+                            throw new IllegalStateException("Results could not be written");
+                        }
+                        retainIndex(jobId, index);
+                    } else {
+                        coordinator.startComputation(tempInputPath, outputPath, 
+                                request.getDelimiter().charAt(0));
+                    }
+                    if (request.getReturnFactors()) {
+                        retainFactors(jobId, factorResults(request.getNumbersList()));
+                    }
                     
                     // Update status to completed
                     jobStatus.put(jobId, JobStatus.newBuilder()
@@ -137,6 +178,7 @@ public class ComputationCoordinatorServiceImpl extends ComputationCoordinatorImp
                             .setCompleted(true)
                             .setSuccess(true)
                             .build());
+                    retireJob(jobId);
                     
                     // Clean up temporary input file
                     Files.deleteIfExists(Paths.get(tempInputPath));
@@ -149,6 +191,9 @@ public class ComputationCoordinatorServiceImpl extends ComputationCoordinatorImp
                             .setCompleted(true)
                             .setSuccess(false)
                             .build());
+                    // Statistics are only reported for successful jobs
+                    jobStatistics.remove(jobId);
+                    retireJob(jobId);
                 }
             });
             
@@ -160,6 +205,9 @@ public class ComputationCoordinatorServiceImpl extends ComputationCoordinatorImp
                     .build());
             
         } catch (Exception e) {
+            // The job never ran, so nothing about it is kept
+            jobStatistics.remove(jobId);
+            jobStatus.remove(jobId);
             // Send failure response
             responseObserver.onNext(ComputationResponse.newBuilder()
                     .setJobId(jobId)
@@ -171,6 +219,63 @@ public class ComputationCoordinatorServiceImpl extends ComputationCoordinatorImp
         responseObserver.onCompleted();
     }
 
+    // Records a finished job, forgetting the oldest ones beyond MAX_FINISHED_JOBS
+    private synchronized void retireJob(String jobId) {
+        if (finishedJobs.contains(jobId)) {
+            return;
+        }
+        finishedJobs.addLast(jobId);
+        while (finishedJobs.size() > MAX_FINISHED_JOBS) {
+            String oldest = finishedJobs.removeFirst();
+            jobStatus.remove(oldest);
+            jobStatistics.remove(oldest);
+            if (jobIndexes.remove(oldest) != null) {
+                indexedJobs.remove(oldest);
+            }
+            if (jobFactors.remove(oldest) != null) {
+                factoredJobs.remove(oldest);
+            }
+        }
+    }
+
+    // Publishes a finished index, dropping the oldest ones beyond MAX_RETAINED_INDEXES
+    private synchronized void retainIndex(String jobId, PrimeIndex index) {
+        jobIndexes.put(jobId, index);
+        indexedJobs.addLast(jobId);
+        while (indexedJobs.size() > MAX_RETAINED_INDEXES) {
+            jobIndexes.remove(indexedJobs.removeFirst());
+        }
+    }
+
+    // Publishes the factors of a finished job, dropping the oldest ones beyond MAX_RETAINED_FACTOR_RESULTS
+    private synchronized void retainFactors(String jobId, List<FactorResult> results) {
+        jobFactors.put(jobId, results);
+        factoredJobs.addLast(jobId);
+        while (factoredJobs.size() > MAX_RETAINED_FACTOR_RESULTS) {
+            jobFactors.remove(factoredJobs.removeFirst());
+        }
+    }
+
+    // One message per whole number in the int range, carrying the cached encoding as it is
+    private List<FactorResult> factorResults(List<Double> numbers) {
+        List<FactorResult> results = new ArrayList<>(numbers.size());
+        for (double number : numbers) {
+            if (number == (int) number) {
+                results.add(FactorResultMessages.toMessage((int) number, factorCache.findEncodedFactors((int) number)));
+            }
+        }
+        return results;
+    }
+
+    // Whole numbers are written without a fraction or exponent so that values
+    // beyond the int range still parse as integers downstream
+    private static String formatNumber(double number) {
+        if (number == Math.rint(number) && Math.abs(number) < Long.MAX_VALUE) {
+            return Long.toString((long) number);
+        }
+        return String.valueOf(number);
+    }
+
     @Override
     public void submitFile(FileRequest request, StreamObserver<ComputationResponse> responseObserver) {
         String jobId = UUID.randomUUID().toString();
@@ -199,14 +304,47 @@ public class ComputationCoordinatorServiceImpl extends ComputationCoordinatorImp
                 .setCompleted(status.getCompleted())
                 .setSuccess(status.getSuccess());
         
-        // If job completed successfully, read the results from the output file
-        if (status.getCompleted() && status.getSuccess()) {
-            // Here we would add the results to the response
-            // This is simplified as the actual results would come from parsing the output file
-            // ...
+        // If job completed successfully, report sum, average, minimum and maximum of its input
+        StatisticsAccumulator statistics = jobStatistics.get(jobId);
+        if (status.getCompleted() && status.getSuccess() && statistics != null && statistics.getCount() > 0) {
+            responseBuilder.addResults(statistics.getSum())
+                    .addResults(statistics.getAverage())
+                    .addResults(statistics.getMin())
+                    .addResults(statistics.getMax());
+        }
+        List<FactorResult> factors = jobFactors.get(jobId);
+        if (status.getCompleted() && status.getSuccess() && factors != null) {
+            responseBuilder.addAllFactorResults(factors);
         }
         
         responseObserver.onNext(responseBuilder.build());
         responseObserver.onCompleted();
     }
+
+    @Override
+    public void queryIndex(IndexQueryRequest request, StreamObserver<IndexQueryResponse> responseObserver) {
+        IndexQueryResponse.Builder responseBuilder = IndexQueryResponse.newBuilder();
+        PrimeIndex index = jobIndexes.get(request.getJobId());
+        if (index == null) {
+            responseBuilder.setSuccess(false)
+                    .setMessage("No index for job " + request.getJobId()
+                            + "; submit it with build_index, only the latest " + MAX_RETAINED_INDEXES + " are kept");
+        } else {
+            try {
+                CompressedBitmap positions = request.hasRangeEnd()
+                        ? index.withDivisorIn(request.hasRangeStart() ? request.getRangeStart() : 1, request.getRangeEnd())
+                        : index.divisibleBy(request.getDivisor());
+                positions.forEach(position -> responseBuilder.addPositions(position)
+                        .addNumbers(index.getNumber(position)));
+                responseBuilder.setSuccess(true)
+                        .setCount(responseBuilder.getPositionsCount())
+                        .setMessage("Query completed successfully");
+            } catch (IllegalArgumentException e) {
+                responseBuilder.setSuccess(false)
+                        .setMessage("Invalid query: " + e.getMessage());
+            }
+        }
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
 }
@@ -1,17 +1,18 @@
 package api;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * Standard implementation of the ComputationAPI.
  */
 public class ComputationEngineImpl implements ComputationAPI {
+    private final PrimalityFilter primality = new PrimalityFilter();
+
     @Override
     // compute takes input number and returns the computation result
     public ComputationResult compute(String inputData, String[] delimiters) {
         try {
-            int number = parseInput(inputData);
+            int number = parseInput(DelimiterSet.of(delimiters).singleToken(inputData));
             List<Integer> factors = findFactors(number);
             return new ComputationResultImpl(true, factors);
         } catch (NumberFormatException e) {
@@ -28,6 +29,12 @@ public class ComputationEngineImpl implements ComputationAPI {
     @Override
     public List<Integer> findFactors(int number) {
         List<Integer> factors = new ArrayList<>();
+        if (primality.isPrime(number)) {
+            // A prime only has 1 and itself, no need to scan
+            factors.add(1);
+            factors.add(number);
+            return factors;
+        }
 
         for (int i = 1; i <= number; i++) {
             if (number % i == 0) {
@@ -37,13 +44,18 @@ public class ComputationEngineImpl implements ComputationAPI {
         return factors;
     }
 
+    /**
+     * Gets the primality check run before each factorization, with its hit counters.
+     * 
+     * @return The primality filter
+     */
+    public PrimalityFilter getPrimalityFilter() {
+        return primality;
+    }
+
     @Override
     public double calculateSum(List<Double> numbers) {
-        double sum = 0;
-        for (Double num : numbers) {
-            sum += num;
-        }
-        return sum;
+        return StatisticsAccumulator.of(numbers).getSum();
     }
 
     @Override
@@ -51,8 +63,7 @@ public class ComputationEngineImpl implements ComputationAPI {
         if (numbers == null || numbers.isEmpty()) {
             return 0;
         }
-        double sum = calculateSum(numbers);
-        return sum / numbers.size();
+        return StatisticsAccumulator.of(numbers).getAverage();
     }
 
     @Override
@@ -60,7 +71,7 @@ public class ComputationEngineImpl implements ComputationAPI {
         if (numbers == null || numbers.isEmpty()) {
             return 0;
         }
-        return Collections.min(numbers);
+        return StatisticsAccumulator.of(numbers).getMin();
     }
 
     @Override
@@ -68,12 +79,6 @@ public class ComputationEngineImpl implements ComputationAPI {
         if (numbers == null || numbers.isEmpty()) {
             throw new IllegalArgumentException("List of numbers cannot be null or empty");
         }
-        double max = Double.NEGATIVE_INFINITY;
-        for (Double number : numbers) {
-            if (number > max) {
-                max = number;
-            }
-        }
-        return max;
+        return StatisticsAccumulator.of(numbers).getMax();
     }
 }
@@ -1,5 +1,6 @@
 package api;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,6 +22,76 @@ public interface ComputationResult {
      */
     List<Integer> getFactors();
     
+    /**
+     * Check whether some factors exceed the int range, as they do for any
+     * number beyond it. getFactors, getFactorCount, getFactorArray and
+     * getEncodedFactors then hold only the factors up to Integer.MAX_VALUE,
+     * and getLongFactors holds them all.
+     * 
+     * @return True if the int views of the factors leave some out
+     */
+    default boolean isTruncated() {
+        return false;
+    }
+    
+    /**
+     * Get the list of factors as longs, for results of 64-bit computations.
+     * 
+     * @return The list of factors or null if computation failed
+     */
+    default List<Long> getLongFactors() {
+        List<Integer> factors = getFactors();
+        if (factors == null) {
+            return null;
+        }
+        List<Long> longFactors = new ArrayList<>(factors.size());
+        for (Integer factor : factors) {
+            longFactors.add(factor.longValue());
+        }
+        return longFactors;
+    }
+    
+    /**
+     * Get the number of factors in the result.
+     * 
+     * @return The number of factors, 0 if computation failed
+     */
+    default int getFactorCount() {
+        List<Integer> factors = getFactors();
+        return factors == null ? 0 : factors.size();
+    }
+    
+    /**
+     * Get the factors as a primitive array. Only the first getFactorCount()
+     * entries are meaningful; the array may be shared and must not be modified.
+     * 
+     * @return The factors, or an empty array if computation failed
+     */
+    default int[] getFactorArray() {
+        List<Integer> factors = getFactors();
+        if (factors == null) {
+            return new int[0];
+        }
+        int[] array = new int[factors.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = factors.get(i);
+        }
+        return array;
+    }
+    
+    /**
+     * Get the factors as a compact delta-varint encoding, for keeping or
+     * sending on without holding them as ints.
+     * 
+     * @return The encoded factors, or null if computation failed
+     */
+    default EncodedFactorList getEncodedFactors() {
+        if (!isSuccess()) {
+            return null;
+        }
+        return EncodedFactorList.encode(getFactorArray(), getFactorCount());
+    }
+    
     /**
      * Get the status message.
      * 
@@ -1,8 +1,33 @@
 package api;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ComputeEngineAPI implements UserInterfaceAPI{
+    // Numbers factored and formatted per task in batch mode
+    static final int BATCH_CHUNK_SIZE = 1 << 14;
+    private static final byte[] LINE_PREFIX = "Factors of ".getBytes(StandardCharsets.US_ASCII);
+
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            // Unix filter mode: ComputeEngineAPI --batch [file], reading stdin when no file or "-" is given.
+            // Tokens that are not ints are skipped and counted on stderr, with exit status 2
+            System.exit(runBatch(args.length > 1 ? args[1] : "-"));
+        }
+
         // Create scanner object to read input from user
         Scanner scanner = new Scanner(System.in);
         
@@ -23,8 +48,9 @@ public class ComputeEngineAPI implements UserInterfaceAPI{
     
     // Method to calculate the square of the number
     public static int calculateSquare(int num) {
-        // Calculate the square of the given number to see how far to check for factors
-        return num * num;
+        // Calculate the square of the given number to see how far to check for factors,
+        // capped at Integer.MAX_VALUE instead of overflowing for num > 46340
+        return (int) Math.min((long) num * num, Integer.MAX_VALUE);
     }
 
     // Method to find and print factors of the number up to its square
@@ -32,13 +58,15 @@ public class ComputeEngineAPI implements UserInterfaceAPI{
         // Print the factors of the number up to its square
         System.out.println("Factors of " + num + " up to its square (" + square + "): ");
 
-        // Go through integers from 1 to the square of the given number
-        for (int i = 1; i <= square; i++) {
-            // Check if i is a factor of the number
-            if (num % i == 0) {
-                System.out.print(i + " ");
-            }
+        // No factor of a positive number exceeds the number itself, so the engine
+        // only needs to search up to its square root
+        int[] factors = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int count = new OptimizedComputationEngineImpl().findFactorsInto(num, factors);
+        StringBuilder output = new StringBuilder(count * 8);
+        for (int i = 0; i < count && factors[i] <= square; i++) {
+            output.append(factors[i]).append(' ');
         }
+        System.out.print(output);
     }
 
     // Method to close Scanner
@@ -46,4 +74,163 @@ public class ComputeEngineAPI implements UserInterfaceAPI{
         // Close the scanner once everything is done
         scanner.close();
     }
+
+    // Runs batch mode on a file or stdin and returns the process exit code
+    private static int runBatch(String source) {
+        long start = System.nanoTime();
+        try (InputStream in = source.equals("-") ? new FileInputStream(FileDescriptor.in) : new FileInputStream(source);
+                FileOutputStream out = new FileOutputStream(FileDescriptor.out)) {
+            AsciiIntParser parser = new AsciiIntParser(in);
+            long count = factorBatch(parser, out.getChannel());
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.printf("Factored %d numbers in %.2f s (%.0f numbers/s) on %d threads%n",
+                    count, seconds, count / seconds, Runtime.getRuntime().availableProcessors());
+            if (parser.getSkippedCount() > 0) {
+                System.err.println("Skipped " + parser.getSkippedCount() + " tokens that are not ints");
+                return 2;
+            }
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Runs batch mode exactly as the command line does: the shared
+     * AdaptiveComputationEngine, which loads or measures its calibration once,
+     * streaming on one thread per processor.
+     *
+     * @param parser Parser over the input, which counts the tokens it skips
+     * @param out Channel receiving the output lines
+     * @return The number of numbers factored
+     * @throws IOException If reading or writing fails
+     */
+    static long factorBatch(AsciiIntParser parser, WritableByteChannel out) throws IOException {
+        return streamFactors(parser, out, AdaptiveComputationEngine.shared(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Factors every number in a stream on a pool of threads and writes one
+     * "Factors of n: f1 f2 ..." line per number, in input order. Chunks are
+     * factored and formatted to bytes in parallel, and at most two chunks
+     * per thread are held at once, so memory stays bounded for any input size.
+     * Tokens that are not ints are skipped, as every parser skips them.
+     *
+     * @param in Stream of decimal numbers separated by whitespace or commas
+     * @param out Channel receiving the output lines
+     * @param engine The engine that factors each chunk
+     * @param threads Number of worker threads
+     * @return The number of numbers factored
+     * @throws IOException If reading or writing fails
+     */
+    public static long streamFactors(InputStream in, WritableByteChannel out, ComputationAPI engine, int threads)
+            throws IOException {
+        return streamFactors(new AsciiIntParser(in), out, engine, threads);
+    }
+
+    /**
+     * Factors every number a parser reads, as streamFactors over a stream
+     * does. Tokens that are not ints get no output line; the parser counts
+     * them for the caller to report.
+     *
+     * @param parser Parser over the input
+     * @param out Channel receiving the output lines
+     * @param engine The engine that factors each chunk
+     * @param threads Number of worker threads
+     * @return The number of numbers factored
+     * @throws IOException If reading or writing fails
+     */
+    public static long streamFactors(AsciiIntParser parser, WritableByteChannel out, ComputationAPI engine, int threads)
+            throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Deque<Future<ByteBuffer>> pending = new ArrayDeque<>();
+        try {
+            int[] chunk = new int[BATCH_CHUNK_SIZE];
+            int read;
+            while ((read = parser.read(chunk)) > 0) {
+                int[] numbers = Arrays.copyOf(chunk, read);
+                pending.add(pool.submit(() -> formatChunk(engine, numbers)));
+                if (pending.size() >= 2 * threads) {
+                    writeFully(out, await(pending.poll()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeFully(out, await(pending.poll()));
+            }
+            return parser.getParsedCount();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ByteBuffer formatChunk(ComputationAPI engine, int[] numbers) {
+        FactorBatch batch = engine.findFactorsBatch(numbers, true);
+        int[] factors = batch.getFactorData();
+        byte[] bytes = new byte[numbers.length * 64];
+        int position = 0;
+        for (int i = 0; i < numbers.length; i++) {
+            int count = batch.getFactorCount(i);
+            int offset = batch.getFactorOffset(i);
+            // Prefix, the number, ": ", then up to 11 characters per factor
+            int needed = LINE_PREFIX.length + 14 + count * 12;
+            if (position + needed > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + needed));
+            }
+            System.arraycopy(LINE_PREFIX, 0, bytes, position, LINE_PREFIX.length);
+            position = writeInt(bytes, position + LINE_PREFIX.length, numbers[i]);
+            bytes[position++] = ':';
+            for (int k = 0; k < count; k++) {
+                bytes[position++] = ' ';
+                position = writeInt(bytes, position, factors[offset + k]);
+            }
+            bytes[position++] = '\n';
+        }
+        return ByteBuffer.wrap(bytes, 0, position);
+    }
+
+    // Writes the decimal digits of a value and returns the position after them
+    private static int writeInt(byte[] bytes, int position, int value) {
+        long v = value;
+        if (v < 0) {
+            bytes[position++] = '-';
+            v = -v;
+        }
+        int end = position + digitCount(v);
+        int i = end;
+        do {
+            bytes[--i] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        return end;
+    }
+
+    private static int digitCount(long v) {
+        int digits = 1;
+        while (v >= 10) {
+            v /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static ByteBuffer await(Future<ByteBuffer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while factoring", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Factoring failed: " + e.getCause(), e.getCause());
+        }
+    }
+
+    private static void writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package api;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 
 /**
  * Interface for data storage operations
@@ -23,6 +25,28 @@ public interface DataStorage {
      */
     void writeDataContent(String destination, String data) throws IOException;
     
+    /**
+     * Open a source for reading a piece at a time
+     * @param source Path to read from
+     * @return Reader over the data, to be closed by the caller
+     * @throws IOException If the source cannot be opened
+     */
+    default Reader openReader(String source) throws IOException {
+        return new StringReader(readData(source, null));
+    }
+    
+    /**
+     * Open a destination for writing a piece at a time. Nothing is stored
+     * until the writer is committed; closing it without a commit, as a
+     * failed job does, leaves the destination as it was
+     * @param destination Path to write data to
+     * @return Writer whose content is stored when it is committed
+     * @throws IOException If the destination cannot be opened
+     */
+    default StagedWriter openWriter(String destination) throws IOException {
+        return StagedWriter.toStorage(this, destination);
+    }
+    
     /**
      * Write data to a destination with error handling
      * @param destination Path to write data to
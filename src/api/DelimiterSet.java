@@ -0,0 +1,244 @@
+package api;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A set of delimiters compiled into a lookup table of the bytes that
+ * separate numbers, so that tokenizing costs one array load per byte and
+ * no regular expression. ASCII whitespace, control characters and commas
+ * always separate numbers; each ASCII character of the delimiters is
+ * added to them. Non-ASCII delimiter characters are ignored.
+ *
+ * <p>Compiled sets are immutable and cached by the characters they add, so
+ * readers opened again and again with the same delimiters share one table.
+ */
+public final class DelimiterSet {
+    // Callers passing arbitrary delimiters should not grow the cache without bound
+    private static final int MAX_CACHED = 256;
+    private static final ConcurrentHashMap<String, DelimiterSet> CACHE = new ConcurrentHashMap<>();
+
+    /** Whitespace and commas only. */
+    public static final DelimiterSet DEFAULT = new DelimiterSet("");
+
+    private final String extra;
+    private final boolean[] separators = new boolean[256];
+
+    private DelimiterSet(String extra) {
+        this.extra = extra;
+        for (int b = 0; b <= ' '; b++) {
+            separators[b] = true;
+        }
+        separators[','] = true;
+        for (int i = 0; i < extra.length(); i++) {
+            separators[extra.charAt(i)] = true;
+        }
+    }
+
+    /**
+     * Gets the compiled set of some delimiters.
+     *
+     * @param delimiters Delimiters whose ASCII characters separate numbers, may be null
+     * @return The compiled set, shared with every other caller using the same characters
+     */
+    public static DelimiterSet of(String... delimiters) {
+        String key = key(delimiters);
+        if (key.isEmpty()) {
+            return DEFAULT;
+        }
+        DelimiterSet cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        DelimiterSet compiled = new DelimiterSet(key);
+        if (CACHE.size() >= MAX_CACHED) {
+            return compiled;
+        }
+        DelimiterSet raced = CACHE.putIfAbsent(key, compiled);
+        return raced == null ? compiled : raced;
+    }
+
+    /**
+     * Gets the compiled set of a single delimiter character.
+     *
+     * @param delimiter The delimiter
+     * @return The compiled set
+     */
+    public static DelimiterSet of(char delimiter) {
+        return of(String.valueOf(delimiter));
+    }
+
+    // Sorted distinct ASCII characters the delimiters add to whitespace and commas
+    private static String key(String[] delimiters) {
+        if (delimiters == null) {
+            return "";
+        }
+        boolean[] seen = new boolean[128];
+        int count = 0;
+        for (String delimiter : delimiters) {
+            if (delimiter == null) {
+                continue;
+            }
+            for (int i = 0; i < delimiter.length(); i++) {
+                char c = delimiter.charAt(i);
+                if (c < 128 && c > ' ' && c != ',' && !seen[c]) {
+                    seen[c] = true;
+                    count++;
+                }
+            }
+        }
+        char[] chars = new char[count];
+        int index = 0;
+        for (char c = 0; c < 128; c++) {
+            if (seen[c]) {
+                chars[index++] = c;
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Checks whether a byte separates numbers.
+     *
+     * @param b The byte
+     * @return True if it is whitespace, a comma or one of the delimiters
+     */
+    public boolean isSeparator(byte b) {
+        return separators[b & 0xFF];
+    }
+
+    /**
+     * Checks whether a character separates numbers.
+     *
+     * @param c The character
+     * @return True if it is ASCII whitespace, a comma or one of the delimiters
+     */
+    public boolean isSeparator(char c) {
+        return c < 256 && separators[c];
+    }
+
+    /**
+     * Gets the only token of a text that must hold exactly one number.
+     *
+     * @param text The text
+     * @return The token, not yet checked to be a number
+     * @throws NumberFormatException If the text is null, holds no token or holds several
+     */
+    public String singleToken(String text) {
+        int start = 0;
+        int end = text == null ? 0 : text.length();
+        while (start < end && isSeparator(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isSeparator(text.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            throw new NumberFormatException("No number in input");
+        }
+        for (int i = start; i < end; i++) {
+            if (isSeparator(text.charAt(i))) {
+                throw new NumberFormatException("Expected one number but found several in \"" + text.trim() + "\"");
+            }
+        }
+        return text.substring(start, end);
+    }
+
+    /**
+     * Gets the lookup table for hot loops, indexed by unsigned byte value.
+     * The table is shared and must not be modified.
+     *
+     * @return For every byte value, whether it separates numbers
+     */
+    boolean[] table() {
+        return separators;
+    }
+
+    /**
+     * Parses every int in a string. Tokens that are not ints are skipped.
+     *
+     * @param text The text, may be null
+     * @return The numbers in order
+     */
+    public int[] parse(String text) {
+        if (text == null || text.isEmpty()) {
+            return new int[0];
+        }
+        // Characters beyond Latin-1 become '?', which like any other letter spoils its token
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        return parse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Parses every int in a range of ASCII bytes. Tokens that are not ints
+     * are skipped.
+     *
+     * @param bytes The bytes
+     * @param start Index of the first byte
+     * @param end Index just past the last byte
+     * @return The numbers in order
+     */
+    public int[] parse(byte[] bytes, int start, int end) {
+        if (start < 0 || end > bytes.length || start > end) {
+            throw new IllegalArgumentException("Invalid range " + start + " to " + end);
+        }
+        // Short numbers take about four bytes each with their separator
+        IntList numbers = new IntList(Math.min(1 << 20, (end - start) / 4 + 16));
+        parseInto(ByteBuffer.wrap(bytes), start, end, false, numbers);
+        return numbers.toArray();
+    }
+
+    /**
+     * Parses the ints in a range of a buffer, skipping tokens that are not
+     * ints. This is the loop behind every parse method, over heap arrays
+     * and memory-mapped files alike; tokens are recognized by NumberToken,
+     * as in IntCursor and NumberTokenizer.
+     *
+     * @param bytes The buffer, read with absolute gets so its position is untouched
+     * @param start Index of the first byte
+     * @param end Index just past the last byte
+     * @param skipFirst Whether the range starts inside a token, whose rest is then skipped
+     * @param numbers Receives the numbers in order
+     */
+    void parseInto(ByteBuffer bytes, int start, int end, boolean skipFirst, IntList numbers) {
+        boolean[] separators = this.separators;
+        NumberToken token = new NumberToken();
+        int i = start;
+        if (skipFirst) {
+            while (i < end && !separators[bytes.get(i) & 0xFF]) {
+                i++;
+            }
+        }
+        while (i < end) {
+            int b = bytes.get(i++) & 0xFF;
+            if (separators[b]) {
+                continue;
+            }
+            token.reset();
+            token.append(b);
+            while (i < end && !separators[b = bytes.get(i) & 0xFF]) {
+                token.append(b);
+                i++;
+            }
+            if (token.isInt()) {
+                numbers.add(token.intValue());
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DelimiterSet && extra.equals(((DelimiterSet) other).extra);
+    }
+
+    @Override
+    public int hashCode() {
+        return extra.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "DelimiterSet[whitespace, ','" + (extra.isEmpty() ? "" : ", '" + extra + "'") + "]";
+    }
+}
@@ -0,0 +1,175 @@
+package api;
+
+/**
+ * Expands prime factorizations into sorted divisor lists.
+ * Each prime power is folded in by merging the sorted divisors found so far
+ * with their multiples, so no sort is needed.
+ */
+final class Divisors {
+    // An int has at most 9 distinct prime factors (2*3*5*7*11*13*17*19*23 < 2^31)
+    static final int MAX_DISTINCT_PRIMES = 10;
+
+    private Divisors() {
+    }
+
+    /**
+     * Counts the divisors of a factorization.
+     *
+     * @param exponents The exponent of each prime
+     * @param count The number of distinct primes
+     * @return The number of divisors
+     */
+    static int count(int[] exponents, int count) {
+        int total = 1;
+        for (int i = 0; i < count; i++) {
+            total *= exponents[i] + 1;
+        }
+        return total;
+    }
+
+    /**
+     * Expands a prime factorization into an exactly sized array of divisors.
+     *
+     * @param primes The distinct primes in ascending order
+     * @param exponents The exponent of each prime
+     * @param count The number of distinct primes
+     * @return The sorted divisors
+     */
+    static int[] expand(int[] primes, int[] exponents, int count) {
+        int[] divisors = new int[count(exponents, count)];
+        write(primes, exponents, count, divisors);
+        return divisors;
+    }
+
+    /**
+     * Writes the divisors of a prime factorization in ascending order.
+     *
+     * @param primes The distinct primes in ascending order
+     * @param exponents The exponent of each prime
+     * @param count The number of distinct primes
+     * @param out Receives the divisors, must hold all of them
+     * @return The number of divisors written
+     */
+    static int write(int[] primes, int[] exponents, int count, int[] out) {
+        int total = count(exponents, count);
+        return write(primes, exponents, count, out, new int[total], new int[total]);
+    }
+
+    /**
+     * Writes the divisors of a prime factorization in ascending order,
+     * using caller-owned work buffers so repeated calls do not allocate.
+     *
+     * @param primes The distinct primes in ascending order
+     * @param exponents The exponent of each prime
+     * @param count The number of distinct primes
+     * @param out Receives the divisors, must hold all of them
+     * @param merged Work buffer, must hold all divisors
+     * @param base Work buffer, must hold all divisors
+     * @return The number of divisors written
+     */
+    static int write(int[] primes, int[] exponents, int count, int[] out, int[] merged, int[] base) {
+        int[] current = out;
+        current[0] = 1;
+        int size = 1;
+
+        for (int i = 0; i < count; i++) {
+            int p = primes[i];
+            int baseSize = size;
+            System.arraycopy(current, 0, base, 0, baseSize);
+            int power = 1;
+            for (int k = 0; k < exponents[i]; k++) {
+                power *= p;
+                int x = 0;
+                int y = 0;
+                int z = 0;
+                while (x < size && y < baseSize) {
+                    int scaled = base[y] * power;
+                    if (current[x] < scaled) {
+                        merged[z++] = current[x++];
+                    } else {
+                        merged[z++] = scaled;
+                        y++;
+                    }
+                }
+                while (x < size) {
+                    merged[z++] = current[x++];
+                }
+                while (y < baseSize) {
+                    merged[z++] = base[y++] * power;
+                }
+                int[] swap = current;
+                current = merged;
+                merged = swap;
+                size = z;
+            }
+        }
+        if (current != out) {
+            System.arraycopy(current, 0, out, 0, size);
+        }
+        return size;
+    }
+
+    /**
+     * Trial-divides a number by a list of primes.
+     *
+     * @param number The number to factor, must be positive
+     * @param divisors Primes in ascending order, starting at 2
+     * @param primes Receives the distinct prime factors in ascending order
+     * @param exponents Receives the exponent of each prime
+     * @return The number of distinct primes written
+     */
+    static int factorWithPrimes(int number, int[] divisors, int[] primes, int[] exponents) {
+        int count = 0;
+        int n = number;
+        for (int p : divisors) {
+            if ((long) p * p > n) {
+                break;
+            }
+            if (n % p == 0) {
+                int exponent = 0;
+                do {
+                    n /= p;
+                    exponent++;
+                } while (n % p == 0);
+                primes[count] = p;
+                exponents[count++] = exponent;
+            }
+        }
+        if (n > 1) {
+            // No prime up to its square root divides it, so the cofactor is prime
+            primes[count] = n;
+            exponents[count++] = 1;
+        }
+        return count;
+    }
+
+    /**
+     * Lists the primes up to a limit with a sieve of Eratosthenes.
+     *
+     * @param limit The largest candidate
+     * @return The primes in ascending order
+     */
+    static int[] primesUpTo(int limit) {
+        if (limit < 2) {
+            return new int[0];
+        }
+        boolean[] composite = new boolean[limit + 1];
+        int count = 0;
+        for (int i = 2; i <= limit; i++) {
+            if (!composite[i]) {
+                count++;
+                for (long j = (long) i * i; j <= limit; j += i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        int[] primes = new int[count];
+        int index = 0;
+        for (int i = 2; i <= limit; i++) {
+            if (!composite[i]) {
+                primes[index++] = i;
+            }
+        }
+        return primes;
+    }
+}
@@ -0,0 +1,59 @@
+package api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Successful computation result backed by an EncodedFactorList, so cached
+ * factors can be handed out and passed on without being decoded.
+ */
+public class EncodedComputationResult implements ComputationResult {
+    private final EncodedFactorList factors;
+
+    public EncodedComputationResult(EncodedFactorList factors) {
+        if (factors == null) {
+            throw new IllegalArgumentException("Factors cannot be null");
+        }
+        this.factors = factors;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return true;
+    }
+
+    /**
+     * Get the list of factors, decoding and boxing them on each call.
+     *
+     * @return The list of factors
+     */
+    @Override
+    public List<Integer> getFactors() {
+        List<Integer> list = new ArrayList<>(factors.size());
+        EncodedFactorList.Cursor cursor = factors.cursor();
+        while (cursor.hasNext()) {
+            list.add(cursor.nextInt());
+        }
+        return list;
+    }
+
+    @Override
+    public int getFactorCount() {
+        return factors.size();
+    }
+
+    @Override
+    public int[] getFactorArray() {
+        return factors.toArray();
+    }
+
+    @Override
+    public EncodedFactorList getEncodedFactors() {
+        return factors;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Operation completed successfully";
+    }
+}
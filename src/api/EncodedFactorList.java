@@ -0,0 +1,330 @@
+package api;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Immutable ascending list of ints stored as delta-encoded varints in one
+ * byte array, for holding large factor lists in results and caches.
+ *
+ * <p>The encoding starts with a varint holding the count shifted left by one,
+ * with the low bit set for a divisor list. A divisor list of n is closed
+ * under d -> n / d, so only n and the deltas of the divisors up to the
+ * square root are stored; the upper half is rebuilt by division when
+ * decoding. Any other list stores its first value zigzag-encoded followed
+ * by the deltas between neighbours.
+ */
+public final class EncodedFactorList {
+    private static final EncodedFactorList EMPTY = new EncodedFactorList(new byte[]{0});
+    // A divisor list of an int has at most MAX_FACTOR_COUNT entries, half of them below the square root
+    private static final int MAX_HALF = (ComputationAPI.MAX_FACTOR_COUNT + 1) / 2;
+
+    private final byte[] data;
+
+    private EncodedFactorList(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Encodes the first entries of an array.
+     *
+     * @param factors The values, in strictly ascending order
+     * @param count The number of leading entries to encode
+     * @return The encoded list
+     */
+    public static EncodedFactorList encode(int[] factors, int count) {
+        return encode(factors, 0, count);
+    }
+
+    /**
+     * Encodes a slice of an array.
+     *
+     * @param factors The values, in strictly ascending order
+     * @param offset Index of the first value
+     * @param count The number of values
+     * @return The encoded list
+     */
+    public static EncodedFactorList encode(int[] factors, int offset, int count) {
+        if (offset < 0 || count < 0 || offset + count > factors.length) {
+            throw new IllegalArgumentException("Slice " + offset + "+" + count + " out of range for " + factors.length + " values");
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+        for (int i = offset + 1; i < offset + count; i++) {
+            if (factors[i] <= factors[i - 1]) {
+                throw new IllegalArgumentException("Values must be strictly ascending at index " + i);
+            }
+        }
+
+        boolean divisors = isDivisorList(factors, offset, count);
+        // Worst case is five bytes per varint
+        byte[] buffer = new byte[10 + 5 * count];
+        int position = writeVarint(buffer, 0, ((long) count << 1) | (divisors ? 1 : 0));
+        if (divisors) {
+            position = writeVarint(buffer, position, factors[offset + count - 1]);
+            int previous = 0;
+            for (int i = offset; i < offset + (count + 1) / 2; i++) {
+                position = writeVarint(buffer, position, factors[i] - previous);
+                previous = factors[i];
+            }
+        } else {
+            int first = factors[offset];
+            position = writeVarint(buffer, position, ((first << 1) ^ (first >> 31)) & 0xFFFFFFFFL);
+            for (int i = offset + 1; i < offset + count; i++) {
+                position = writeVarint(buffer, position, (long) factors[i] - factors[i - 1]);
+            }
+        }
+        return new EncodedFactorList(Arrays.copyOf(buffer, position));
+    }
+
+    /**
+     * Wraps bytes produced by getEncoded, for example after they were sent
+     * over the network. The bytes are not copied and must not be changed.
+     *
+     * @param encoded The encoded bytes
+     * @return The list over those bytes
+     */
+    public static EncodedFactorList wrap(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) {
+            throw new IllegalArgumentException("Encoded factor list cannot be empty");
+        }
+        EncodedFactorList list = new EncodedFactorList(encoded);
+        // Walk the whole encoding once so that corrupt input fails here rather than on first use
+        Cursor cursor = new Cursor().reset(list);
+        try {
+            while (cursor.hasNext()) {
+                cursor.nextInt();
+            }
+        } catch (ArrayIndexOutOfBoundsException | ArithmeticException e) {
+            throw new IllegalArgumentException("Malformed factor list encoding", e);
+        }
+        if (cursor.position != encoded.length) {
+            throw new IllegalArgumentException("Malformed factor list encoding: trailing bytes");
+        }
+        return list;
+    }
+
+    /**
+     * Gets the number of values in the list.
+     *
+     * @return The size
+     */
+    public int size() {
+        return (int) (readVarintAt(data, 0) >>> 1);
+    }
+
+    /**
+     * Gets the encoded bytes. They are shared with this list and must not be changed.
+     *
+     * @return The encoding
+     */
+    public byte[] getEncoded() {
+        return data;
+    }
+
+    /**
+     * Gets the length of the encoding in bytes.
+     *
+     * @return The encoded length
+     */
+    public int getEncodedLength() {
+        return data.length;
+    }
+
+    /**
+     * Decodes the values into an array.
+     *
+     * @param target Array receiving the values, at least size() long
+     * @return The number of values written
+     */
+    public int decodeInto(int[] target) {
+        int count = size();
+        if (target == null || target.length < count) {
+            throw new IllegalArgumentException("Target must hold at least " + count + " values");
+        }
+        Cursor cursor = new Cursor(target).reset(this);
+        for (int i = 0; i < count; i++) {
+            // The cursor keeps the lower half in target, which stays ahead of the values written
+            target[i] = cursor.nextInt();
+        }
+        return count;
+    }
+
+    /**
+     * Decodes the values into a new array.
+     *
+     * @return The values
+     */
+    public int[] toArray() {
+        int[] values = new int[size()];
+        decodeInto(values);
+        return values;
+    }
+
+    /**
+     * Creates a cursor over the values. Reusing one Cursor through reset
+     * iterates any number of lists without allocating once its buffer fits
+     * the longest of them.
+     *
+     * @return A cursor at the first value
+     */
+    public Cursor cursor() {
+        return new Cursor().reset(this);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof EncodedFactorList && Arrays.equals(data, ((EncodedFactorList) other).data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Reusable iterator over an EncodedFactorList. nextInt never allocates,
+     * and reset only does when a divisor list has a longer lower half than
+     * any list the cursor has seen before.
+     */
+    public static final class Cursor implements PrimitiveIterator.OfInt {
+        private static final int[] NO_VALUES = new int[0];
+
+        // Lower half of a divisor list, replayed in reverse to produce the upper half
+        private int[] lowerHalf;
+        private byte[] data;
+        private int position;
+        private int remaining;
+        private boolean divisors;
+        private boolean first;
+        private int number;
+        private int previous;
+        private int lowerCount;
+        private int lowerRead;
+        private int upperIndex;
+
+        public Cursor() {
+            this(NO_VALUES);
+        }
+
+        private Cursor(int[] lowerHalf) {
+            this.lowerHalf = lowerHalf;
+        }
+
+        /**
+         * Moves the cursor to the start of a list.
+         *
+         * @param list The list to iterate
+         * @return This cursor
+         */
+        public Cursor reset(EncodedFactorList list) {
+            data = list.data;
+            position = 0;
+            long header = readVarint();
+            remaining = (int) (header >>> 1);
+            divisors = (header & 1) != 0;
+            previous = 0;
+            first = true;
+            lowerRead = 0;
+            if (divisors) {
+                number = (int) readVarint();
+                lowerCount = (remaining + 1) / 2;
+                if (lowerCount > MAX_HALF) {
+                    throw new IllegalArgumentException("Divisor list too long: " + remaining);
+                }
+                if (lowerCount > lowerHalf.length) {
+                    // Sized from the header, so short lists such as {1, p} only need a few ints
+                    lowerHalf = new int[Math.max(lowerCount, Math.min(MAX_HALF, lowerHalf.length * 2))];
+                }
+                // A perfect square has its root once, so the upper half skips it
+                upperIndex = remaining % 2 == 0 ? lowerCount - 1 : lowerCount - 2;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            if (!divisors) {
+                if (first) {
+                    first = false;
+                    long zigzag = readVarint();
+                    previous = (int) (zigzag >>> 1) ^ -(int) (zigzag & 1);
+                } else {
+                    previous = (int) (previous + readVarint());
+                }
+                return previous;
+            }
+            if (lowerRead < lowerCount) {
+                previous += (int) readVarint();
+                lowerHalf[lowerRead++] = previous;
+                return previous;
+            }
+            return number / lowerHalf[upperIndex--];
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+                if (shift > 35) {
+                    throw new ArithmeticException("Varint longer than five bytes");
+                }
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    private static boolean isDivisorList(int[] factors, int offset, int count) {
+        if (factors[offset] != 1) {
+            return false;
+        }
+        long number = factors[offset + count - 1];
+        for (int i = 0; i < (count + 1) / 2; i++) {
+            if ((long) factors[offset + i] * factors[offset + count - 1 - i] != number) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int writeVarint(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static long readVarintAt(byte[] data, int position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
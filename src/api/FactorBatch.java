@@ -0,0 +1,191 @@
+package api;
+
+import java.util.Arrays;
+
+/**
+ * Factors of a batch of numbers in a flat primitive layout.
+ * All factors live in one int array; each input has an offset and a count
+ * into it, and repeated inputs may share the same slice.
+ */
+public class FactorBatch {
+    private final int[] numbers;
+    private final int[] offsets;
+    private final int[] counts;
+    private final int[] factors;
+
+    FactorBatch(int[] numbers, int[] offsets, int[] counts, int[] factors) {
+        this.numbers = numbers;
+        this.offsets = offsets;
+        this.counts = counts;
+        this.factors = factors;
+    }
+
+    /**
+     * Source of sorted divisors, matching ComputationAPI.findFactorsInto.
+     */
+    @FunctionalInterface
+    public interface DivisorSource {
+        int findFactorsInto(int number, int[] scratch);
+    }
+
+    /**
+     * Source of prime factorizations for positive numbers.
+     */
+    @FunctionalInterface
+    public interface PrimeFactorSource {
+        int factorize(int number, int[] primes, int[] exponents);
+    }
+
+    /**
+     * Factors every number with a divisor source, reusing one scratch buffer.
+     *
+     * @param numbers The numbers to factor, in output order
+     * @param deduplicate Whether to sort the inputs internally and factor each distinct value once
+     * @param source Produces the divisors of a single number
+     * @return The batch of factors in the original input order
+     */
+    public static FactorBatch compute(int[] numbers, boolean deduplicate, DivisorSource source) {
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int[] offsets = new int[numbers.length];
+        int[] counts = new int[numbers.length];
+        int[] factors = new int[Math.max(16, numbers.length * 8)];
+        int size = 0;
+
+        if (!deduplicate) {
+            for (int i = 0; i < numbers.length; i++) {
+                int count = source.findFactorsInto(numbers[i], scratch);
+                factors = ensureCapacity(factors, size + count);
+                System.arraycopy(scratch, 0, factors, size, count);
+                offsets[i] = size;
+                counts[i] = count;
+                size += count;
+            }
+            return new FactorBatch(numbers, offsets, counts, factors);
+        }
+
+        // Sort (value, position) pairs packed into longs; equal values end up adjacent
+        long[] order = new long[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            order[i] = ((long) numbers[i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int i = 0;
+        while (i < order.length) {
+            int number = (int) (order[i] >> 32);
+            int count = source.findFactorsInto(number, scratch);
+            factors = ensureCapacity(factors, size + count);
+            System.arraycopy(scratch, 0, factors, size, count);
+            // Every occurrence of the value points at the same slice
+            do {
+                int position = (int) order[i];
+                offsets[position] = size;
+                counts[position] = count;
+                i++;
+            } while (i < order.length && (int) (order[i] >> 32) == number);
+            size += count;
+        }
+        return new FactorBatch(numbers, offsets, counts, factors);
+    }
+
+    /**
+     * Factors every number from its prime factorization, reusing the prime
+     * and divisor work buffers across the whole batch.
+     *
+     * @param numbers The numbers to factor, in output order
+     * @param deduplicate Whether to sort the inputs internally and factor each distinct value once
+     * @param source Produces the prime factorization of a positive number
+     * @return The batch of factors in the original input order
+     */
+    public static FactorBatch fromPrimeFactors(int[] numbers, boolean deduplicate, PrimeFactorSource source) {
+        int[] primes = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int[] merged = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int[] base = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        return compute(numbers, deduplicate, (number, scratch) -> {
+            if (number < 1) {
+                return 0;
+            }
+            int count = source.factorize(number, primes, exponents);
+            return Divisors.write(primes, exponents, count, scratch, merged, base);
+        });
+    }
+
+    /**
+     * Gets the number of inputs in the batch.
+     *
+     * @return The batch size
+     */
+    public int size() {
+        return numbers.length;
+    }
+
+    /**
+     * Gets an input number.
+     *
+     * @param index Position of the input
+     * @return The number at that position
+     */
+    public int getNumber(int index) {
+        return numbers[index];
+    }
+
+    /**
+     * Gets the number of factors of an input.
+     *
+     * @param index Position of the input
+     * @return The factor count
+     */
+    public int getFactorCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Gets where the factors of an input start in getFactorData().
+     *
+     * @param index Position of the input
+     * @return The offset of its first factor
+     */
+    public int getFactorOffset(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * Gets the shared factor array. Must not be modified.
+     *
+     * @return The flat factor data
+     */
+    public int[] getFactorData() {
+        return factors;
+    }
+
+    /**
+     * Copies the factors of an input into a buffer.
+     *
+     * @param index Position of the input
+     * @param dest Buffer receiving the factors
+     * @return The number of factors copied
+     */
+    public int copyFactors(int index, int[] dest) {
+        System.arraycopy(factors, offsets[index], dest, 0, counts[index]);
+        return counts[index];
+    }
+
+    /**
+     * Gets the factors of an input as a computation result.
+     *
+     * @param index Position of the input
+     * @return The result for that input
+     */
+    public ComputationResult getResult(int index) {
+        return new PrimitiveComputationResult(
+                Arrays.copyOfRange(factors, offsets[index], offsets[index] + counts[index]), counts[index]);
+    }
+
+    private static int[] ensureCapacity(int[] array, int required) {
+        if (required <= array.length) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(required, array.length * 2));
+    }
+}
@@ -0,0 +1,78 @@
+package api;
+
+import java.time.Duration;
+
+/**
+ * Time limit and cancellation flag for a long-running factorization.
+ * The factorizer polls isExhausted inside its loops and stops with a partial
+ * result once the deadline passes, cancel is called, or its thread is
+ * interrupted (as Future.cancel(true) does), so a hard input never holds a
+ * pool thread for longer than its budget.
+ */
+public final class FactorBudget {
+    private final long deadline;
+    private final boolean bounded;
+    private volatile boolean cancelled;
+
+    private FactorBudget(long deadline, boolean bounded) {
+        this.deadline = deadline;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Creates a budget that only ends through cancellation or interruption.
+     *
+     * @return The unlimited budget
+     */
+    public static FactorBudget unlimited() {
+        return new FactorBudget(0, false);
+    }
+
+    /**
+     * Creates a budget that runs out after a duration, starting now.
+     *
+     * @param timeout How long the factorization may run
+     * @return The budget
+     */
+    public static FactorBudget of(Duration timeout) {
+        if (timeout == null || timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout must be zero or positive");
+        }
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch (ArithmeticException e) {
+            // Longer than about 292 years
+            return unlimited();
+        }
+        return new FactorBudget(System.nanoTime() + nanos, true);
+    }
+
+    /**
+     * Asks the factorization to stop at its next check.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether cancel was called.
+     *
+     * @return True if the budget was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks whether the factorization should stop. The interrupt flag of
+     * the current thread is left set so that the pool still sees it.
+     *
+     * @return True if the budget was cancelled, has timed out, or the thread was interrupted
+     */
+    public boolean isExhausted() {
+        return cancelled
+                || Thread.currentThread().isInterrupted()
+                || (bounded && System.nanoTime() - deadline >= 0);
+    }
+}
@@ -0,0 +1,42 @@
+package api;
+
+import java.util.List;
+
+/**
+ * Receives the factors of one number at a time, as a slice of a shared array.
+ */
+@FunctionalInterface
+public interface FactorConsumer {
+    /**
+     * Accepts the factors of a number. The array is only valid for the
+     * duration of the call and must not be modified.
+     * 
+     * @param number The number that was factored
+     * @param factors Array holding the factors in ascending order
+     * @param offset Index of the first factor
+     * @param count The number of factors
+     */
+    void accept(int number, int[] factors, int offset, int count);
+
+    /**
+     * Accepts the factors of a number too large for an int, found with
+     * 64-bit arithmetic. By default the number is passed to reject, so
+     * consumers that only handle ints see it as an invalid token.
+     * 
+     * @param number The number that was factored
+     * @param factors The factors in ascending order, empty for numbers below 1
+     */
+    default void acceptLong(long number, List<Long> factors) {
+        reject(Long.toString(number));
+    }
+
+    /**
+     * Accepts an input token that is not a number. Tokens are passed to
+     * accept, acceptLong or reject in input order; by default invalid tokens
+     * are skipped.
+     * 
+     * @param token The text of the token, shortened if very long
+     */
+    default void reject(String token) {
+    }
+}
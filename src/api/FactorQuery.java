@@ -0,0 +1,81 @@
+package api;
+
+/**
+ * Aggregate questions about a number's divisors that can be answered from
+ * its prime factorization, without listing the divisors.
+ */
+public enum FactorQuery {
+    DIVISOR_COUNT("Divisor count", false),
+    DIVISOR_SUM("Divisor sum", false),
+    DISTINCT_PRIMES("Distinct prime factors", false),
+    RADICAL("Radical", false),
+    PRIME("Prime", true),
+    PERFECT("Perfect", true),
+    SQUAREFREE("Squarefree", true);
+
+    private final String label;
+    private final boolean predicate;
+
+    FactorQuery(String label, boolean predicate) {
+        this.label = label;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Gets the label used when writing answers.
+     *
+     * @return The label
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Checks whether the answer is a yes/no question.
+     *
+     * @return True if evaluate returns 1 for yes and 0 for no
+     */
+    public boolean isPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Answers the query for a factorization.
+     *
+     * @param factorization The prime factorization of the number
+     * @return The answer, with 1 and 0 standing for true and false
+     */
+    public long evaluate(PrimeFactorization factorization) {
+        switch (this) {
+            case DIVISOR_COUNT:
+                return factorization.divisorCount();
+            case DIVISOR_SUM:
+                return factorization.divisorSum();
+            case DISTINCT_PRIMES:
+                return factorization.distinctPrimeCount();
+            case RADICAL:
+                return factorization.radical();
+            case PRIME:
+                return factorization.isPrime() ? 1 : 0;
+            case PERFECT:
+                return factorization.isPerfect() ? 1 : 0;
+            case SQUAREFREE:
+                return factorization.isSquarefree() ? 1 : 0;
+            default:
+                throw new IllegalStateException("Unknown query " + this);
+        }
+    }
+
+    /**
+     * Appends a labelled answer, such as "Divisor count: 6" or "Prime: true".
+     *
+     * @param builder The builder to append to
+     * @param factorization The prime factorization of the number
+     * @return The builder
+     */
+    public StringBuilder appendAnswer(StringBuilder builder, PrimeFactorization factorization) {
+        long answer = evaluate(factorization);
+        builder.append(label).append(": ");
+        return predicate ? builder.append(answer != 0) : builder.append(answer);
+    }
+}
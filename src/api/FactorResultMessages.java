@@ -0,0 +1,46 @@
+package api;
+
+import com.google.protobuf.UnsafeByteOperations;
+import coordinatorservice.FactorResult;
+
+/**
+ * Converts between EncodedFactorList and the FactorResult gRPC message.
+ * The encoded bytes are carried as they are in both directions, so factors
+ * are never decoded just to be sent or received.
+ */
+public final class FactorResultMessages {
+
+    private FactorResultMessages() {
+    }
+
+    /**
+     * Builds the message for the factors of one number.
+     *
+     * @param number The number that was factored
+     * @param factors Its encoded factors
+     * @return The message, sharing the encoded bytes
+     */
+    public static FactorResult toMessage(int number, EncodedFactorList factors) {
+        return FactorResult.newBuilder()
+                .setNumber(number)
+                .setFactorCount(factors.size())
+                // The encoding is immutable, so it can be wrapped without a copy
+                .setEncodedFactors(UnsafeByteOperations.unsafeWrap(factors.getEncoded()))
+                .build();
+    }
+
+    /**
+     * Reads the factors carried by a message.
+     *
+     * @param message The message
+     * @return The encoded factors
+     */
+    public static EncodedFactorList fromMessage(FactorResult message) {
+        EncodedFactorList factors = EncodedFactorList.wrap(message.getEncodedFactors().toByteArray());
+        if (message.hasFactorCount() && factors.size() != message.getFactorCount()) {
+            throw new IllegalArgumentException("Factor count " + message.getFactorCount()
+                    + " does not match the " + factors.size() + " encoded factors");
+        }
+        return factors;
+    }
+}
@@ -0,0 +1,71 @@
+package api;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Streams numbers from a Reader through an engine in fixed-size batches, so
+ * an input of any length is factored with bounded memory while each batch
+ * still gets the engine's batch optimizations.
+ */
+final class FactorStream {
+    /** Numbers collected before each findFactorsBatch call. */
+    static final int BATCH_SIZE = 4096;
+
+    private FactorStream() {
+    }
+
+    /**
+     * Factors every number in a stream, passing the results to a consumer in
+     * input order. Numbers beyond the int range are factored one at a time
+     * with findFactorsLong.
+     *
+     * @param engine The engine that factors each batch
+     * @param input The text to read numbers from
+     * @param delimiters Characters that separate numbers, in addition to whitespace
+     * @param sink Receives the factors of each number and every invalid token
+     * @return The number of tokens read, valid or not
+     * @throws IOException If reading the input fails
+     */
+    static long factor(ComputationAPI engine, Reader input, String[] delimiters, FactorConsumer sink)
+            throws IOException {
+        NumberTokenizer tokens = new NumberTokenizer(input, delimiters);
+        int[] pending = new int[BATCH_SIZE];
+        int size = 0;
+        long count = 0;
+        while (tokens.next()) {
+            count++;
+            if (tokens.isValid()) {
+                pending[size++] = tokens.value();
+                if (size == pending.length) {
+                    emit(engine, pending, size, sink);
+                    size = 0;
+                }
+            } else {
+                // Results already collected go out first to keep input order
+                emit(engine, pending, size, sink);
+                size = 0;
+                if (tokens.isLong()) {
+                    sink.acceptLong(tokens.longValue(), engine.findFactorsLong(tokens.longValue()));
+                } else {
+                    sink.reject(tokens.token());
+                }
+            }
+        }
+        emit(engine, pending, size, sink);
+        return count;
+    }
+
+    private static void emit(ComputationAPI engine, int[] pending, int size, FactorConsumer sink) {
+        if (size == 0) {
+            return;
+        }
+        int[] numbers = Arrays.copyOf(pending, size);
+        FactorBatch batch = engine.findFactorsBatch(numbers, true);
+        int[] factors = batch.getFactorData();
+        for (int i = 0; i < size; i++) {
+            sink.accept(numbers[i], factors, batch.getFactorOffset(i), batch.getFactorCount(i));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package api;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Buffered writer that formats factor arrays straight into a char buffer,
+ * without boxing the factors or building an intermediate String per number.
+ */
+public class FactorWriter implements Closeable, Flushable {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    // Enough for "-2147483648"
+    private static final int MAX_INT_CHARS = 11;
+
+    private final Writer out;
+    private final char[] buffer;
+    private int position;
+
+    public FactorWriter(Writer out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public FactorWriter(Writer out, int bufferSize) {
+        if (bufferSize < MAX_INT_CHARS) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MAX_INT_CHARS);
+        }
+        this.out = out;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Writes a string.
+     *
+     * @param text The text to write
+     * @return This writer
+     * @throws IOException If an I/O error occurs
+     */
+    public FactorWriter write(String text) throws IOException {
+        int offset = 0;
+        int remaining = text.length();
+        while (remaining > 0) {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            int chunk = Math.min(remaining, buffer.length - position);
+            text.getChars(offset, offset + chunk, buffer, position);
+            position += chunk;
+            offset += chunk;
+            remaining -= chunk;
+        }
+        return this;
+    }
+
+    /**
+     * Writes the decimal form of an int.
+     *
+     * @param value The value to write
+     * @return This writer
+     * @throws IOException If an I/O error occurs
+     */
+    public FactorWriter writeInt(int value) throws IOException {
+        if (buffer.length - position < MAX_INT_CHARS) {
+            flushBuffer();
+        }
+        position = formatInt(value, buffer, position);
+        return this;
+    }
+
+    /**
+     * Writes factors separated by the given separator.
+     *
+     * @param factors The factors to write
+     * @param count The number of leading entries of the array to write
+     * @param separator The text placed between factors
+     * @return This writer
+     * @throws IOException If an I/O error occurs
+     */
+    public FactorWriter writeFactors(int[] factors, int count, String separator) throws IOException {
+        return writeFactors(factors, 0, count, separator);
+    }
+
+    /**
+     * Writes a slice of a factor array separated by the given separator.
+     *
+     * @param factors The factors to write
+     * @param offset Index of the first factor to write
+     * @param count The number of factors to write
+     * @param separator The text placed between factors
+     * @return This writer
+     * @throws IOException If an I/O error occurs
+     */
+    public FactorWriter writeFactors(int[] factors, int offset, int count, String separator) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                write(separator);
+            }
+            writeInt(factors[offset + i]);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a line separator.
+     *
+     * @return This writer
+     * @throws IOException If an I/O error occurs
+     */
+    public FactorWriter newLine() throws IOException {
+        return write(System.lineSeparator());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Appends factors separated by the given separator to a StringBuilder.
+     *
+     * @param builder The builder to append to
+     * @param factors The factors to append
+     * @param count The number of leading entries of the array to append
+     * @param separator The text placed between factors
+     * @return The builder
+     */
+    public static StringBuilder appendFactors(StringBuilder builder, int[] factors, int count, String separator) {
+        return appendFactors(builder, factors, 0, count, separator);
+    }
+
+    /**
+     * Appends a slice of a factor array separated by the given separator to a StringBuilder.
+     *
+     * @param builder The builder to append to
+     * @param factors The factors to append
+     * @param offset Index of the first factor to append
+     * @param count The number of factors to append
+     * @param separator The text placed between factors
+     * @return The builder
+     */
+    public static StringBuilder appendFactors(StringBuilder builder, int[] factors, int offset, int count,
+            String separator) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(separator);
+            }
+            builder.append(factors[offset + i]);
+        }
+        return builder;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    // Writes the digits of value at buffer[position] and returns the new position
+    private static int formatInt(int value, char[] buffer, int position) {
+        if (value == Integer.MIN_VALUE) {
+            "-2147483648".getChars(0, MAX_INT_CHARS, buffer, position);
+            return position + MAX_INT_CHARS;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (int bound = 10; digits < 10 && value >= bound; bound *= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+}
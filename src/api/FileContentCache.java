@@ -0,0 +1,311 @@
+package api;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of file contents keyed by path, bounded by the bytes it holds.
+ * Every entry remembers the size, modification time and file key (the
+ * inode on Unix) the file had when it was read, and a lookup only returns
+ * the contents while all three still match, so a rewritten or replaced
+ * file is read again rather than served stale.
+ *
+ * <p>Entries are kept strongly in least recently used order up to the byte
+ * limit. Entries pushed out of that tier can be kept behind soft references,
+ * which the garbage collector clears when memory runs short; a lookup that
+ * finds one still alive moves it back into the strong tier.
+ */
+public final class FileContentCache {
+    public static final long DEFAULT_MAXIMUM_BYTES = 64L << 20;
+    // Rough cost of the map entry, key and stamp on top of the contents
+    private static final long ENTRY_OVERHEAD = 128;
+
+    private final long maximumBytes;
+    private final boolean softReferences;
+    // Access order, so the first entry is always the least recently used
+    private final LinkedHashMap<String, Entry> strong = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, SoftEntry> soft = new HashMap<>();
+    private final ReferenceQueue<Entry> cleared = new ReferenceQueue<>();
+    private long weightedSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder softHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public FileContentCache() {
+        this(DEFAULT_MAXIMUM_BYTES, true);
+    }
+
+    public FileContentCache(long maximumBytes, boolean softReferences) {
+        if (maximumBytes < 1) {
+            throw new IllegalArgumentException("Maximum bytes must be at least 1");
+        }
+        this.maximumBytes = maximumBytes;
+        this.softReferences = softReferences;
+    }
+
+    /**
+     * Gets the cached contents of a file if the file has not changed since
+     * they were read. Changed or deleted files are dropped from the cache.
+     *
+     * @param path The file
+     * @return The contents, or null if they are not cached or out of date
+     */
+    public String get(String path) {
+        Stamp current;
+        try {
+            current = stamp(path);
+        } catch (IOException | RuntimeException e) {
+            // Gone or not a path; nothing cached for it can be trusted
+            current = null;
+        }
+        synchronized (this) {
+            expungeCleared();
+            boolean fromSoft = false;
+            Entry entry = strong.get(path);
+            if (entry == null) {
+                SoftEntry reference = soft.get(path);
+                entry = reference == null ? null : reference.get();
+                fromSoft = entry != null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (!entry.stamp.equals(current)) {
+                remove(path);
+                invalidations.increment();
+                misses.increment();
+                return null;
+            }
+            if (fromSoft) {
+                soft.remove(path);
+                admit(path, entry);
+                softHits.increment();
+            }
+            hits.increment();
+            return entry.content;
+        }
+    }
+
+    /**
+     * Caches the contents of a file. Contents larger than the whole cache
+     * are not kept.
+     *
+     * @param path The file
+     * @param content Its contents
+     * @param stamp The state of the file when the contents were read, taken before reading
+     */
+    void put(String path, String content, Stamp stamp) {
+        if (path == null || content == null || stamp == null) {
+            return;
+        }
+        Entry entry = new Entry(content, stamp);
+        synchronized (this) {
+            expungeCleared();
+            remove(path);
+            if (entry.weight <= maximumBytes) {
+                admit(path, entry);
+            }
+        }
+    }
+
+    /**
+     * Drops any cached contents of a file.
+     *
+     * @param path The file
+     */
+    public synchronized void invalidate(String path) {
+        remove(path);
+    }
+
+    /**
+     * Removes every entry. Counters are kept.
+     */
+    public synchronized void clear() {
+        strong.clear();
+        soft.clear();
+        weightedSize = 0;
+    }
+
+    /**
+     * Reads the size, modification time and file key of a file.
+     *
+     * @param path The file
+     * @return Its current stamp
+     * @throws IOException If the attributes cannot be read
+     */
+    static Stamp stamp(String path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(Paths.get(path), BasicFileAttributes.class);
+        return new Stamp(attributes.size(), attributes.lastModifiedTime(), attributes.fileKey());
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache, including those
+     * answered from the soft tier.
+     *
+     * @return The hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups answered by an entry that had been moved
+     * to the soft tier.
+     *
+     * @return The soft hit count
+     */
+    public long getSoftHitCount() {
+        return softHits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that found nothing usable, including
+     * those that found out-of-date contents.
+     *
+     * @return The miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of entries pushed out of the strong tier to stay
+     * within the byte limit.
+     *
+     * @return The eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the number of entries dropped because their file had changed.
+     *
+     * @return The invalidation count
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Gets the number of entries held strongly.
+     *
+     * @return The strong tier size
+     */
+    public synchronized int size() {
+        return strong.size();
+    }
+
+    /**
+     * Gets the estimated bytes held by the strong tier.
+     *
+     * @return The weighted size, at most the maximum bytes
+     */
+    public synchronized long getWeightedSize() {
+        return weightedSize;
+    }
+
+    public long getMaximumBytes() {
+        return maximumBytes;
+    }
+
+    private void admit(String path, Entry entry) {
+        strong.put(path, entry);
+        weightedSize += entry.weight;
+        Iterator<Map.Entry<String, Entry>> eldest = strong.entrySet().iterator();
+        while (weightedSize > maximumBytes) {
+            Map.Entry<String, Entry> victim = eldest.next();
+            eldest.remove();
+            weightedSize -= victim.getValue().weight;
+            evictions.increment();
+            if (softReferences) {
+                soft.put(victim.getKey(), new SoftEntry(victim.getKey(), victim.getValue(), cleared));
+            }
+        }
+    }
+
+    private void remove(String path) {
+        Entry removed = strong.remove(path);
+        if (removed != null) {
+            weightedSize -= removed.weight;
+        }
+        soft.remove(path);
+    }
+
+    // Drops the map entries of soft references the collector has cleared
+    private void expungeCleared() {
+        Reference<? extends Entry> reference;
+        while ((reference = cleared.poll()) != null) {
+            SoftEntry entry = (SoftEntry) reference;
+            soft.remove(entry.path, entry);
+        }
+    }
+
+    /**
+     * State of a file that changes whenever the file is rewritten or replaced.
+     */
+    static final class Stamp {
+        private final long size;
+        private final FileTime lastModified;
+        private final Object fileKey;
+
+        Stamp(long size, FileTime lastModified, Object fileKey) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fileKey = fileKey;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Stamp)) {
+                return false;
+            }
+            Stamp stamp = (Stamp) other;
+            return size == stamp.size && lastModified.equals(stamp.lastModified)
+                    && Objects.equals(fileKey, stamp.fileKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, lastModified, fileKey);
+        }
+    }
+
+    private static final class Entry {
+        final String content;
+        final Stamp stamp;
+        // Strings of ASCII text take one byte per char
+        final long weight;
+
+        Entry(String content, Stamp stamp) {
+            this.content = content;
+            this.stamp = stamp;
+            this.weight = content.length() + ENTRY_OVERHEAD;
+        }
+    }
+
+    private static final class SoftEntry extends SoftReference<Entry> {
+        final String path;
+
+        SoftEntry(String path, Entry entry, ReferenceQueue<Entry> queue) {
+            super(entry, queue);
+            this.path = path;
+        }
+    }
+}
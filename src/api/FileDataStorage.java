@@ -5,8 +5,13 @@ import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * File-based implementation of the StorageAPI and DataStorage interfaces.
@@ -14,16 +19,28 @@ import java.util.List;
 public class FileDataStorage implements DataStorage, StorageAPI {
     private String source = "";
 
-    public List<Integer> readNumbers(ComputeRequest request) {
-        List<Integer> numbers = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(request.getSource()))) {
-            // Implementation details
-        } catch (Exception e) {
-            // Error handling
-        }
-        
-        return numbers;
+    /**
+     * Open the source of a request as a stream of numbers
+     * @param request The request naming the source and its delimiters
+     * @return Cursor over the numbers, to be closed by the caller
+     * @throws IOException If the source cannot be opened
+     */
+    public IntCursor readNumbers(ComputeRequest request) throws IOException {
+        return readNumbers(request.getSource(), request.getDelimiters());
+    }
+
+    /**
+     * Open a file as a stream of numbers, read a buffer at a time
+     * @param source The file to read
+     * @param delimiters Delimiters separating the numbers, in addition to whitespace and commas
+     * @return Cursor over the numbers, to be closed by the caller
+     * @throws IOException If the file cannot be opened
+     */
+    @Override
+    public IntCursor readNumbers(String source, String[] delimiters) throws IOException {
+        IntCursor cursor = new IntCursor(Files.newInputStream(Paths.get(source)), delimiters);
+        this.source = source;
+        return cursor;
     }
 
     public String getSource() {
@@ -55,29 +72,87 @@ public class FileDataStorage implements DataStorage, StorageAPI {
         return content.toString();
     }
     
+    /**
+     * Read every number from a file by memory-mapping it and parsing the
+     * bytes in place, without building a String of the whole file.
+     * @param source The file to read
+     * @param delimiters Delimiters separating the numbers, in addition to whitespace and commas
+     * @return The numbers in file order, empty if the file cannot be read
+     */
+    @Override
+    public int[] readIntArray(String source, String[] delimiters) {
+        try {
+            int[] numbers = new MappedIntParser(delimiters).parse(Paths.get(source));
+            this.source = source;
+            return numbers;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new int[0];
+        }
+    }
+    
+    /**
+     * Read every number from a file by splitting it into byte ranges that
+     * end on a separator and parsing the mapped ranges in parallel.
+     * @param source The file to read
+     * @param delimiters Delimiters separating the numbers, in addition to whitespace and commas
+     * @param executor Runs the range parsers
+     * @param parallelism The largest number of ranges
+     * @return The numbers of each range in file order, empty if the file cannot be read
+     */
+    @Override
+    public List<int[]> readIntChunks(String source, String[] delimiters, ExecutorService executor, int parallelism) {
+        try {
+            List<int[]> chunks = new MappedIntParser(delimiters).parseChunks(Paths.get(source), executor, parallelism);
+            this.source = source;
+            return chunks;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+    
     public void writeDataContent(String destination, String content) {
         writeData(destination, content);
     }
 
+    @Override
+    public Reader openReader(String source) throws IOException {
+        Reader reader = Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8);
+        this.source = source;
+        return reader;
+    }
+
+    @Override
+    public StagedWriter openWriter(String destination) throws IOException {
+        return StagedWriter.toFile(Paths.get(destination));
+    }
+
     /**
-     * Parse raw string data into a StorageResponse
+     * Parse raw string data into a StorageResponse, splitting it on
+     * whitespace and commas. Tokens that are not ints are skipped
      * @param data The raw data to parse
      * @return StorageResponse containing parsed numbers
      */
     @Override
     public StorageResponse parseData(String data) {
-        List<Integer> numbers = new ArrayList<>();
-        if (data != null && !data.isEmpty()) {
-            String[] parts = data.split("\\s+|,");
-            for (String part : parts) {
-                try {
-                    if (!part.trim().isEmpty()) {
-                        numbers.add(Integer.parseInt(part.trim()));
-                    }
-                } catch (NumberFormatException ignored) {
-                    // Skip non-numeric values
-                }
-            }
+        return parseData(data, null);
+    }
+
+    /**
+     * Parse raw string data into a StorageResponse, splitting it on
+     * whitespace, commas and the given delimiters. Tokens that are not
+     * ints are skipped
+     * @param data The raw data to parse
+     * @param delimiters The delimiters the data was read with, may be null
+     * @return StorageResponse containing parsed numbers
+     */
+    @Override
+    public StorageResponse parseData(String data, String[] delimiters) {
+        int[] parsed = DelimiterSet.of(delimiters).parse(data);
+        List<Integer> numbers = new ArrayList<>(parsed.length);
+        for (int number : parsed) {
+            numbers.add(number);
         }
         return new StorageResponseImpl(numbers, true);
     }
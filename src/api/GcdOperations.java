@@ -0,0 +1,212 @@
+package api;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * GCD, LCM and shared-factor operations over lists of numbers.
+ * GCDs use the binary algorithm on primitives. sharedFactors finds every
+ * input that shares a factor with another input using a product tree and a
+ * remainder tree, in quasi-linear time instead of comparing every pair.
+ */
+public final class GcdOperations {
+
+    private GcdOperations() {
+    }
+
+    /**
+     * Computes the greatest common divisor of two non-negative numbers with
+     * the binary algorithm, which only shifts and subtracts.
+     *
+     * @param a The first number
+     * @param b The second number
+     * @return The greatest common divisor, 0 only if both are 0
+     */
+    public static long gcd(long a, long b) {
+        if (a < 0 || b < 0) {
+            throw new IllegalArgumentException("GCD arguments must be non-negative: " + a + ", " + b);
+        }
+        if (a == 0) {
+            return b;
+        }
+        if (b == 0) {
+            return a;
+        }
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long t = a;
+                a = b;
+                b = t;
+            }
+            b -= a;
+        } while (b != 0);
+        return a << shift;
+    }
+
+    /**
+     * Computes the greatest common divisor of a list of numbers, ignoring signs.
+     *
+     * @param numbers The numbers
+     * @return The greatest common divisor, 0 for an empty list or a list of zeros
+     */
+    public static long gcd(int[] numbers) {
+        long result = 0;
+        for (int number : numbers) {
+            result = gcd(result, Math.abs((long) number));
+            if (result == 1) {
+                // Nothing can lower it further
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the least common multiple of a list of numbers, ignoring signs.
+     * The running value is kept in a long until it overflows.
+     *
+     * @param numbers The numbers
+     * @return The least common multiple, 1 for an empty list and 0 if any number is 0
+     */
+    public static BigInteger lcm(int[] numbers) {
+        long small = 1;
+        BigInteger large = null;
+        for (int number : numbers) {
+            long value = Math.abs((long) number);
+            if (value == 0) {
+                return BigInteger.ZERO;
+            }
+            if (large == null) {
+                long factor = value / gcd(small, value);
+                if (Math.multiplyHigh(small, factor) == 0 && small * factor >= 0) {
+                    small *= factor;
+                    continue;
+                }
+                large = BigInteger.valueOf(small);
+            }
+            BigInteger big = BigInteger.valueOf(value);
+            large = large.divide(large.gcd(big)).multiply(big);
+        }
+        return large == null ? BigInteger.valueOf(small) : large;
+    }
+
+    /**
+     * Computes, for every input, its GCD with the product of all other inputs
+     * (Bernstein's batch GCD). An input shares a factor with some other input
+     * exactly when its entry is above 1.
+     *
+     * @param numbers The numbers, all positive
+     * @return The shared factor of each input, in input order
+     */
+    public static long[] sharedFactors(int[] numbers) {
+        requirePositive(numbers);
+        long[] shared = new long[numbers.length];
+        if (numbers.length < 2) {
+            // Nothing to share with
+            Arrays.fill(shared, 1);
+            return shared;
+        }
+
+        // Product tree: level 0 holds the inputs, each level above the products of pairs
+        BigInteger[][] tree = new BigInteger[32][];
+        BigInteger[] level = new BigInteger[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            level[i] = BigInteger.valueOf(numbers[i]);
+        }
+        int height = 0;
+        tree[height++] = level;
+        while (level.length > 1) {
+            BigInteger[] parent = new BigInteger[(level.length + 1) / 2];
+            for (int i = 0; i < parent.length; i++) {
+                int left = 2 * i;
+                parent[i] = left + 1 < level.length ? level[left].multiply(level[left + 1]) : level[left];
+            }
+            level = parent;
+            tree[height++] = level;
+        }
+
+        // Remainder tree: reduce the full product modulo the square of every node
+        BigInteger[] remainders = tree[height - 1];
+        for (int depth = height - 2; depth >= 0; depth--) {
+            BigInteger[] nodes = tree[depth];
+            BigInteger[] next = new BigInteger[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                next[i] = remainders[i / 2].mod(nodes[i].multiply(nodes[i]));
+            }
+            remainders = next;
+        }
+
+        // P mod n^2 is below 2^62, so the last step runs on longs
+        for (int i = 0; i < numbers.length; i++) {
+            long n = numbers[i];
+            long others = remainders[i].longValueExact() / n;
+            shared[i] = gcd(others, n);
+        }
+        return shared;
+    }
+
+    /**
+     * Splits the inputs into groups such that numbers in different groups are
+     * coprime, and every number in a group is linked to the others by a chain
+     * of shared prime factors. Primes are found with the given factorizer and
+     * groups are merged with a union-find over the inputs.
+     *
+     * @param numbers The numbers, all positive
+     * @param factorizer Produces the prime factorization of one number
+     * @return For each input, the index of the first input in its group
+     */
+    public static int[] coprimeGroups(int[] numbers, IntFunction<PrimeFactorization> factorizer) {
+        requirePositive(numbers);
+        int[] parent = new int[numbers.length];
+        Map<Integer, Integer> firstWithPrime = new HashMap<>();
+        for (int i = 0; i < numbers.length; i++) {
+            parent[i] = i;
+            PrimeFactorization factorization = factorizer.apply(numbers[i]);
+            for (int k = 0; k < factorization.distinctPrimeCount(); k++) {
+                Integer first = firstWithPrime.putIfAbsent(factorization.getPrime(k), i);
+                if (first != null) {
+                    union(parent, first, i);
+                }
+            }
+        }
+        int[] groups = new int[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            groups[i] = find(parent, i);
+        }
+        return groups;
+    }
+
+    // Roots are always the smallest index of their group, so they double as group labels
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA < rootB) {
+            parent[rootB] = rootA;
+        } else if (rootB < rootA) {
+            parent[rootA] = rootB;
+        }
+    }
+
+    private static int find(int[] parent, int index) {
+        while (parent[index] != index) {
+            // Path halving
+            parent[index] = parent[parent[index]];
+            index = parent[index];
+        }
+        return index;
+    }
+
+    private static void requirePositive(int[] numbers) {
+        for (int number : numbers) {
+            if (number < 1) {
+                throw new IllegalArgumentException("Numbers must be positive: " + number);
+            }
+        }
+    }
+}
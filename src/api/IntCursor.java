@@ -0,0 +1,171 @@
+package api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Streaming source of the ints in a byte stream. The stream is read through
+ * one reusable byte buffer and parsed a buffer at a time, so memory use is
+ * fixed however long the input is. Callers either pull blocks of numbers
+ * into their own array with read, or iterate one int at a time.
+ *
+ * <p>Numbers are separated as defined by a DelimiterSet and recognized by
+ * NumberToken. Tokens that are not ints are skipped, as in
+ * FileDataStorage.parseData.
+ */
+public final class IntCursor implements PrimitiveIterator.OfInt, Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final int ITERATOR_BLOCK = 256;
+
+    private final InputStream in;
+    private final boolean[] separators;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean exhausted;
+
+    // Token being parsed, kept across buffer refills
+    private final NumberToken token = new NumberToken();
+    private long skipped;
+
+    // Numbers read ahead for hasNext and nextInt
+    private final int[] block = new int[ITERATOR_BLOCK];
+    private int blockIndex;
+    private int blockCount;
+
+    public IntCursor(InputStream in, String[] delimiters) {
+        this(in, delimiters, DEFAULT_BUFFER_SIZE);
+    }
+
+    public IntCursor(InputStream in, String[] delimiters, int bufferSize) {
+        this(in, DelimiterSet.of(delimiters), bufferSize);
+    }
+
+    public IntCursor(InputStream in, DelimiterSet delimiters, int bufferSize) {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream cannot be null");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1");
+        }
+        if (delimiters == null) {
+            throw new IllegalArgumentException("Delimiter set cannot be null");
+        }
+        this.in = in;
+        this.separators = delimiters.table();
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Reads numbers until the target is full or the input ends.
+     *
+     * @param target Array receiving the numbers
+     * @return The number of ints read, or -1 if the input had none left
+     * @throws IOException If reading fails
+     */
+    public int read(int[] target) throws IOException {
+        int count = 0;
+        // Numbers already taken out for the iterator come first
+        while (blockIndex < blockCount && count < target.length) {
+            target[count++] = block[blockIndex++];
+        }
+
+        NumberToken token = this.token;
+        boolean[] separators = this.separators;
+        byte[] buffer = this.buffer;
+        int position = this.position;
+        int limit = this.limit;
+        while (count < target.length) {
+            if (position == limit) {
+                this.position = position;
+                if (!fill()) {
+                    // The last number need not be followed by a separator
+                    if (token.length() > 0) {
+                        if (token.isInt()) {
+                            target[count++] = token.intValue();
+                        } else {
+                            skipped++;
+                        }
+                    }
+                    token.reset();
+                    position = limit = 0;
+                    break;
+                }
+                position = 0;
+                limit = this.limit;
+            }
+            int b = buffer[position++] & 0xFF;
+            if (!separators[b]) {
+                token.append(b);
+            } else if (token.length() > 0) {
+                if (token.isInt()) {
+                    target[count++] = token.intValue();
+                } else {
+                    skipped++;
+                }
+                token.reset();
+            }
+        }
+        this.position = position;
+        this.limit = limit;
+        return count == 0 && target.length > 0 ? -1 : count;
+    }
+
+    /**
+     * Gets the number of tokens skipped so far because they were not ints.
+     *
+     * @return The skipped count
+     */
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (blockIndex < blockCount) {
+            return true;
+        }
+        try {
+            blockIndex = 0;
+            blockCount = 0;
+            int read = read(block);
+            blockCount = Math.max(0, read);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return blockCount > 0;
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return block[blockIndex++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean fill() throws IOException {
+        if (exhausted) {
+            return false;
+        }
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            exhausted = true;
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package api;
+
+import java.util.Arrays;
+
+/**
+ * Growable int array that the parsers append numbers to.
+ */
+final class IntList {
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private int[] values;
+    private int size;
+
+    IntList(int capacity) {
+        values = new int[capacity];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            if (size == MAX_ARRAY_LENGTH) {
+                throw new IllegalStateException("Too many numbers for one array");
+            }
+            values = Arrays.copyOf(values, (int) Math.min(MAX_ARRAY_LENGTH, Math.max(16, size * 2L)));
+        }
+        values[size++] = value;
+    }
+
+    int[] toArray() {
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+}
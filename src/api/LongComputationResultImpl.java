@@ -0,0 +1,68 @@
+package api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computation result for numbers beyond the int range.
+ */
+public class LongComputationResultImpl implements ComputationResult {
+    private final boolean success;
+    private final List<Long> factors;
+    private final String message;
+
+    public LongComputationResultImpl(boolean success, List<Long> factors) {
+        this.success = success;
+        this.factors = factors;
+        this.message = !success ? "Operation failed"
+                : isTruncated() ? "Operation completed successfully; factors beyond the int range are only in getLongFactors"
+                : "Operation completed successfully";
+    }
+
+    public LongComputationResultImpl(boolean success, List<Long> factors, String message) {
+        this.success = success;
+        this.factors = factors;
+        this.message = message;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Get the factors that fit an int. Factors are ascending, so these are
+     * the leading ones; isTruncated tells whether any were left out.
+     * 
+     * @return The factors up to Integer.MAX_VALUE, or null if the computation failed
+     */
+    @Override
+    public List<Integer> getFactors() {
+        if (factors == null) {
+            return null;
+        }
+        List<Integer> intFactors = new ArrayList<>(factors.size());
+        for (Long factor : factors) {
+            if (factor > Integer.MAX_VALUE) {
+                break;
+            }
+            intFactors.add(factor.intValue());
+        }
+        return intFactors;
+    }
+
+    @Override
+    public boolean isTruncated() {
+        return factors != null && !factors.isEmpty() && factors.get(factors.size() - 1) > Integer.MAX_VALUE;
+    }
+
+    @Override
+    public List<Long> getLongFactors() {
+        return factors;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,392 @@
+package api;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Factorization of 64-bit numbers.
+ * Primality is decided with a deterministic Miller-Rabin test and composites
+ * are split with Pollard-Brent rho, both running on Montgomery arithmetic so
+ * that no step needs 128-bit division.
+ */
+public final class LongFactorizer {
+    // A long has at most 15 distinct prime factors (the primorial of 53 is above 2^63)
+    public static final int MAX_DISTINCT_PRIMES = 15;
+
+    // Bases that make Miller-Rabin deterministic for every n below 2^64
+    private static final long[] WITNESSES = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+    // Bases that make Miller-Rabin deterministic for every n below 4,759,123,141
+    private static final long[] INT_WITNESSES = {2, 7, 61};
+    // Trial division removes every factor below this bound before rho is used
+    private static final int TRIAL_LIMIT = 1000;
+    private static final int[] SMALL_PRIMES = smallPrimes(TRIAL_LIMIT);
+    // Once trial division is done all remaining prime factors exceed TRIAL_LIMIT,
+    // so the cofactor can be at most a sixth power
+    private static final int MAX_ROOT = 6;
+    // Number of rho steps multiplied together before each gcd
+    private static final int GCD_BATCH = 128;
+
+    private LongFactorizer() {
+    }
+
+    /**
+     * Checks whether a number is prime.
+     *
+     * @param n The number to test
+     * @return True if n is prime
+     */
+    public static boolean isPrime(long n) {
+        if (n < 2) {
+            return false;
+        }
+        for (int p : SMALL_PRIMES) {
+            if (n % p == 0) {
+                return n == p;
+            }
+            if ((long) p * p > n) {
+                return true;
+            }
+        }
+        return millerRabin(n);
+    }
+
+    /**
+     * Splits a number into its prime factorization.
+     *
+     * @param n The number to factor
+     * @param primes Receives the distinct primes in ascending order
+     * @param exponents Receives the exponent of each prime
+     * @return The number of distinct primes written, 0 for n below 2
+     */
+    public static int factorize(long n, long[] primes, int[] exponents) {
+        if (n < 2) {
+            return 0;
+        }
+        long[] found = new long[Long.SIZE];
+        int size = 0;
+
+        long remaining = n;
+        for (int p : SMALL_PRIMES) {
+            if ((long) p * p > remaining) {
+                break;
+            }
+            while (remaining % p == 0) {
+                found[size++] = p;
+                remaining /= p;
+            }
+        }
+        if (remaining > 1) {
+            size = splitLarge(remaining, 1, found, size);
+        }
+
+        Arrays.sort(found, 0, size);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (count > 0 && primes[count - 1] == found[i]) {
+                exponents[count - 1]++;
+            } else {
+                primes[count] = found[i];
+                exponents[count++] = 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Computes all divisors of a number in ascending order.
+     *
+     * @param n The number to find divisors for
+     * @return The divisors, or an empty array for n below 1
+     */
+    public static long[] divisors(long n) {
+        if (n < 1) {
+            return new long[0];
+        }
+        long[] primes = new long[MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[MAX_DISTINCT_PRIMES];
+        int count = factorize(n, primes, exponents);
+
+        int total = 1;
+        for (int i = 0; i < count; i++) {
+            total *= exponents[i] + 1;
+        }
+        long[] current = new long[total];
+        long[] merged = new long[total];
+        long[] base = new long[total];
+        current[0] = 1;
+        int size = 1;
+
+        // Same merge as Divisors.write, on longs
+        for (int i = 0; i < count; i++) {
+            int baseSize = size;
+            System.arraycopy(current, 0, base, 0, baseSize);
+            long power = 1;
+            for (int k = 0; k < exponents[i]; k++) {
+                power *= primes[i];
+                int x = 0;
+                int y = 0;
+                int z = 0;
+                while (x < size && y < baseSize) {
+                    long scaled = base[y] * power;
+                    if (current[x] < scaled) {
+                        merged[z++] = current[x++];
+                    } else {
+                        merged[z++] = scaled;
+                        y++;
+                    }
+                }
+                while (x < size) {
+                    merged[z++] = current[x++];
+                }
+                while (y < baseSize) {
+                    merged[z++] = base[y++] * power;
+                }
+                long[] swap = current;
+                current = merged;
+                merged = swap;
+                size = z;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Computes all divisors of a number in ascending order as a list.
+     *
+     * @param n The number to find divisors for
+     * @return List of divisors, empty for n below 1
+     */
+    public static List<Long> divisorList(long n) {
+        long[] divisors = divisors(n);
+        List<Long> factors = new ArrayList<>(divisors.length);
+        for (long divisor : divisors) {
+            factors.add(divisor);
+        }
+        return factors;
+    }
+
+    // Records the prime factors of n (which has no factor below TRIAL_LIMIT) multiplicity times
+    private static int splitLarge(long n, int multiplicity, long[] found, int size) {
+        if (isPrime(n)) {
+            for (int i = 0; i < multiplicity; i++) {
+                found[size++] = n;
+            }
+            return size;
+        }
+        for (int k = MAX_ROOT; k >= 2; k--) {
+            long root = exactRoot(n, k);
+            if (root > 0) {
+                return splitLarge(root, multiplicity * k, found, size);
+            }
+        }
+        long divisor = pollardBrent(n);
+        size = splitLarge(divisor, multiplicity, found, size);
+        return splitLarge(n / divisor, multiplicity, found, size);
+    }
+
+    // Returns r with r^k == n, or 0 if n is not a perfect k-th power
+    private static long exactRoot(long n, int k) {
+        long guess = Math.round(Math.pow(n, 1.0 / k));
+        for (long r = Math.max(2, guess - 1); r <= guess + 1; r++) {
+            long value = 1;
+            int i = 0;
+            while (i < k && value <= n / r) {
+                value *= r;
+                i++;
+            }
+            if (i == k && value == n) {
+                return r;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean millerRabin(long n) {
+        if (n <= Integer.MAX_VALUE) {
+            return millerRabinInt(n);
+        }
+        Montgomery m = new Montgomery(n);
+        long minusOne = n - m.one;
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>= s;
+
+        nextWitness:
+        for (long witness : WITNESSES) {
+            long a = witness % n;
+            if (a == 0) {
+                continue;
+            }
+            long x = m.pow(m.toMontgomery(a), d);
+            if (x == m.one || x == minusOne) {
+                continue;
+            }
+            for (int r = 1; r < s; r++) {
+                x = m.multiply(x, x);
+                if (x == minusOne) {
+                    continue nextWitness;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    // Below 2^31 every product fits in a long, so plain remainders beat Montgomery setup
+    private static boolean millerRabinInt(long n) {
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>= s;
+
+        nextWitness:
+        for (long witness : INT_WITNESSES) {
+            long a = witness % n;
+            if (a == 0) {
+                continue;
+            }
+            long x = powMod(a, d, n);
+            if (x == 1 || x == n - 1) {
+                continue;
+            }
+            for (int r = 1; r < s; r++) {
+                x = x * x % n;
+                if (x == n - 1) {
+                    continue nextWitness;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static long powMod(long base, long exponent, long n) {
+        long result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = result * base % n;
+            }
+            base = base * base % n;
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    // Finds a non-trivial divisor of an odd composite n
+    private static long pollardBrent(long n) {
+        Montgomery m = new Montgomery(n);
+        for (long c = 1; ; c++) {
+            long increment = m.toMontgomery(c);
+            long y = m.toMontgomery(2);
+            long x = y;
+            long saved = y;
+            long product = m.one;
+            long g = 1;
+
+            for (int r = 1; g == 1; r <<= 1) {
+                x = y;
+                for (int i = 0; i < r; i++) {
+                    y = m.add(m.multiply(y, y), increment);
+                }
+                for (int k = 0; k < r && g == 1; k += GCD_BATCH) {
+                    saved = y;
+                    int steps = Math.min(GCD_BATCH, r - k);
+                    for (int i = 0; i < steps; i++) {
+                        y = m.add(m.multiply(y, y), increment);
+                        product = m.multiply(product, Math.abs(x - y));
+                    }
+                    // Montgomery form only scales by a unit, so the gcd is unchanged
+                    g = GcdOperations.gcd(product, n);
+                }
+            }
+            if (g == n) {
+                // The batch overshot; replay it one step at a time
+                do {
+                    saved = m.add(m.multiply(saved, saved), increment);
+                    g = GcdOperations.gcd(Math.abs(x - saved), n);
+                } while (g == 1);
+            }
+            if (g != n) {
+                return g;
+            }
+        }
+    }
+
+    private static int[] smallPrimes(int limit) {
+        boolean[] composite = new boolean[limit];
+        int[] found = new int[limit];
+        int count = 0;
+        for (int i = 2; i < limit; i++) {
+            if (!composite[i]) {
+                found[count++] = i;
+                for (int j = i * i; j < limit; j += i) {
+                    composite[j] = true;
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Montgomery arithmetic modulo an odd n below 2^63.
+     * Values are kept in the form a * 2^64 mod n.
+     */
+    private static final class Montgomery {
+        private final long n;
+        // n^-1 mod 2^64
+        private final long inverse;
+        // 2^128 mod n, used to convert into Montgomery form
+        private final long r2;
+        // 1 in Montgomery form (2^64 mod n)
+        private final long one;
+
+        Montgomery(long n) {
+            this.n = n;
+            // Newton iteration: every step doubles the number of correct low bits
+            long inv = n;
+            for (int i = 0; i < 5; i++) {
+                inv *= 2 - n * inv;
+            }
+            this.inverse = inv;
+            this.one = Long.remainderUnsigned(-n, n);
+            long r = one;
+            for (int i = 0; i < Long.SIZE; i++) {
+                r = add(r, r);
+            }
+            this.r2 = r;
+        }
+
+        long toMontgomery(long a) {
+            return multiply(a % n, r2);
+        }
+
+        long add(long a, long b) {
+            long sum = a + b;
+            return Long.compareUnsigned(sum, n) >= 0 ? sum - n : sum;
+        }
+
+        long multiply(long a, long b) {
+            return reduce(Math.multiplyHigh(a, b), a * b);
+        }
+
+        long pow(long base, long exponent) {
+            long result = one;
+            while (exponent > 0) {
+                if ((exponent & 1) != 0) {
+                    result = multiply(result, base);
+                }
+                base = multiply(base, base);
+                exponent >>= 1;
+            }
+            return result;
+        }
+
+        // Computes (hi * 2^64 + lo) / 2^64 mod n for hi below n
+        private long reduce(long hi, long lo) {
+            long m = lo * inverse;
+            // Unsigned high word of m * n; the low words cancel exactly
+            long mnHigh = Math.multiplyHigh(m, n) + ((m >> 63) & n);
+            long t = hi - mnHigh;
+            return t < 0 ? t + n : t;
+        }
+    }
+}
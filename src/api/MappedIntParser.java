@@ -0,0 +1,222 @@
+package api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Parses ASCII integers straight out of a memory-mapped file into an int
+ * array. Bytes are read from the page cache with no intermediate String,
+ * char decoding or regular expression. Files larger than one mapping are
+ * mapped a window at a time, each window ending just after a separator so
+ * that every number is parsed from a single mapping. parseChunks splits a
+ * file the same way into byte ranges that are parsed in parallel.
+ *
+ * <p>Numbers are separated and parsed by the same DelimiterSet loop as
+ * FileDataStorage.parseData, so tokens that are not ints are skipped.
+ */
+public final class MappedIntParser {
+    // A single mapping cannot exceed Integer.MAX_VALUE bytes
+    static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+    // Smaller splits cost more in task overhead than they save
+    static final long MIN_SPLIT_SIZE = 1 << 20;
+
+    private final DelimiterSet delimiters;
+    private final boolean[] separators;
+    private final long windowSize;
+
+    public MappedIntParser(String[] delimiters) {
+        this(DelimiterSet.of(delimiters), DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedIntParser(String[] delimiters, long windowSize) {
+        this(DelimiterSet.of(delimiters), windowSize);
+    }
+
+    MappedIntParser(DelimiterSet delimiters, long windowSize) {
+        if (delimiters == null) {
+            throw new IllegalArgumentException("Delimiter set cannot be null");
+        }
+        if (windowSize < 1 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window size must be between 1 and " + Integer.MAX_VALUE);
+        }
+        this.windowSize = windowSize;
+        this.delimiters = delimiters;
+        this.separators = delimiters.table();
+    }
+
+    /**
+     * Parses every int in a file.
+     *
+     * @param file The file to read
+     * @return The numbers in file order
+     * @throws IOException If the file cannot be mapped
+     */
+    public int[] parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return parse(channel, 0, channel.size());
+        }
+    }
+
+    /**
+     * Parses a file on several threads. The file is cut into byte ranges of
+     * about equal size, each moved forward to just past the next separator,
+     * and every range is parsed into its own array. The arrays are returned
+     * in file order rather than concatenated, so callers that work on slices
+     * of the input can use them without another copy.
+     *
+     * @param file The file to read
+     * @param executor Runs the range parsers
+     * @param parallelism The largest number of ranges
+     * @return Arrays holding the numbers of consecutive parts of the file
+     * @throws IOException If the file cannot be read
+     */
+    public List<int[]> parseChunks(Path file, ExecutorService executor, int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int splits = (int) Math.max(1, Math.min(parallelism, size / MIN_SPLIT_SIZE));
+            return parseChunks(channel, splitPoints(channel, size, splits), executor);
+        }
+    }
+
+    List<int[]> parseChunks(FileChannel channel, long[] splitPoints, ExecutorService executor) throws IOException {
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int i = 0; i + 1 < splitPoints.length; i++) {
+            long start = splitPoints[i];
+            long end = splitPoints[i + 1];
+            if (start < end) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        return parse(channel, start, end);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+        }
+        List<int[]> chunks = new ArrayList<>(futures.size());
+        try {
+            for (Future<int[]> future : futures) {
+                chunks.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException("Parsing failed", cause);
+        }
+        return chunks;
+    }
+
+    /**
+     * Cuts a file into byte ranges that start and end on number boundaries.
+     *
+     * @param channel Channel of the file
+     * @param size Size of the file
+     * @param splits The number of ranges wanted
+     * @return Offsets of the range boundaries, from 0 to size; ranges may be empty
+     * @throws IOException If the file cannot be read
+     */
+    long[] splitPoints(FileChannel channel, long size, int splits) throws IOException {
+        long[] points = new long[splits + 1];
+        points[splits] = size;
+        ByteBuffer probe = ByteBuffer.allocate(256);
+        for (int i = 1; i < splits; i++) {
+            long target = Math.max(points[i - 1], size / splits * i);
+            points[i] = nextBoundary(channel, target, size, probe);
+        }
+        return points;
+    }
+
+    // Moves an offset forward to just past a separator, unless it already follows one
+    private long nextBoundary(FileChannel channel, long offset, long size, ByteBuffer probe) throws IOException {
+        if (offset == 0) {
+            return 0;
+        }
+        long position = offset - 1;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (separators[probe.get(i) & 0xFF]) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Parses the ints in a byte range of a file. The range should start and
+     * end on a separator or the ends of the file, otherwise the numbers at
+     * its edges are cut.
+     *
+     * @param channel Channel of the file to read
+     * @param start Offset of the first byte
+     * @param end Offset just past the last byte
+     * @return The numbers in file order
+     * @throws IOException If the range cannot be mapped
+     */
+    int[] parse(FileChannel channel, long start, long end) throws IOException {
+        // Short numbers take about four bytes each with their separator
+        IntList numbers = new IntList((int) Math.min(1 << 20, (end - start) / 4 + 16));
+        boolean skipping = false;
+        long position = start;
+        while (position < end) {
+            long length = Math.min(windowSize, end - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int limit = (int) length;
+            if (position + length < end) {
+                // End the window after its last separator so that no number is cut in two
+                limit = lastSeparator(buffer, (int) length) + 1;
+                while (limit == 0 && length < Math.min(Integer.MAX_VALUE, end - position)) {
+                    // A token longer than the window, which only tiny windows or junk input produce
+                    length = Math.min(Math.min(length * 2, Integer.MAX_VALUE), end - position);
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    limit = position + length < end ? lastSeparator(buffer, (int) length) + 1 : (int) length;
+                }
+            }
+            if (limit == 0) {
+                // Still inside one token after the largest possible mapping; drop it
+                skipping = true;
+                position += length;
+                continue;
+            }
+            delimiters.parseInto(buffer, 0, limit, skipping, numbers);
+            skipping = false;
+            position += limit;
+        }
+        return numbers.toArray();
+    }
+
+    private int lastSeparator(MappedByteBuffer buffer, int length) {
+        int i = length - 1;
+        while (i >= 0 && !separators[buffer.get(i) & 0xFF]) {
+            i--;
+        }
+        return i;
+    }
+}
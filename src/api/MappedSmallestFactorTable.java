@@ -0,0 +1,149 @@
+package api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Smallest-prime-factor table read from a file mapped read-only into memory.
+ * Every JVM that maps the same file shares its pages through the OS page
+ * cache, so opening a table is near-instant and costs no heap.
+ *
+ * File layout, big-endian:
+ * magic "SPFT" (int), format version (int), bound (int), reserved (int),
+ * then one char per odd number n at index n >> 1, as in SmallestFactorTable.sieve.
+ *
+ * Generate a file with: java api.MappedSmallestFactorTable &lt;file&gt; [bound]
+ */
+public final class MappedSmallestFactorTable implements SmallestFactorTable {
+    public static final int MAGIC = 0x53504654;
+    public static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    // Writing in blocks keeps the generator's buffer small for any bound
+    private static final int WRITE_BLOCK_CHARS = 1 << 20;
+
+    private final CharBuffer table;
+    private final int bound;
+
+    private MappedSmallestFactorTable(CharBuffer table, int bound) {
+        this.table = table;
+        this.bound = bound;
+    }
+
+    /**
+     * Maps a table file read-only.
+     *
+     * @param file The file written by write
+     * @return The mapped table
+     * @throws IOException If the file cannot be read or is not a valid table
+     */
+    public static MappedSmallestFactorTable open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a smallest-factor table: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a smallest-factor table: " + file);
+            }
+            int version = buffer.getInt(4);
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported table version " + version + " in " + file);
+            }
+            int bound = buffer.getInt(8);
+            if (bound < 2 || size != expectedSize(bound)) {
+                throw new IOException("Table " + file + " is truncated or damaged");
+            }
+            CharBuffer table = buffer.position(HEADER_SIZE).slice().asCharBuffer();
+            return new MappedSmallestFactorTable(table, bound);
+        }
+    }
+
+    /**
+     * Sieves a table and writes it to a file. The file is written under a
+     * temporary name and moved into place, so readers never map a partial table.
+     *
+     * @param file The file to create or replace
+     * @param bound The largest number to cover
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path file, int bound) throws IOException {
+        if (expectedSize(bound) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bound " + bound + " is too large for a single mapping");
+        }
+        char[] table = SmallestFactorTable.sieve(bound);
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, "spf", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(bound).putInt(0).flip();
+                writeFully(channel, header);
+
+                ByteBuffer block = ByteBuffer.allocate(WRITE_BLOCK_CHARS * Character.BYTES);
+                for (int start = 0; start < table.length; start += WRITE_BLOCK_CHARS) {
+                    int end = Math.min(table.length, start + WRITE_BLOCK_CHARS);
+                    block.clear();
+                    block.asCharBuffer().put(table, start, end - start);
+                    block.limit((end - start) * Character.BYTES);
+                    writeFully(channel, block);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public int getBound() {
+        return bound;
+    }
+
+    @Override
+    public int smallestOddFactor(int oddNumber) {
+        return table.get(oddNumber >> 1);
+    }
+
+    private static long expectedSize(int bound) {
+        return HEADER_SIZE + ((long) (bound >> 1) + 1) * Character.BYTES;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Generates a table file.
+     *
+     * @param args The output file, and optionally the bound (default 1,000,000)
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("Usage: java api.MappedSmallestFactorTable <file> [bound]");
+            return;
+        }
+        try {
+            int bound = args.length == 2 ? Integer.parseInt(args[1]) : SieveComputationEngineImpl.DEFAULT_BOUND;
+            long start = System.nanoTime();
+            write(Paths.get(args[0]), bound);
+            System.out.println("Wrote smallest-factor table up to " + bound + " to " + args[0]
+                    + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Failed to write table: " + e.getMessage());
+        }
+    }
+}
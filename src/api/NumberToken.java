@@ -0,0 +1,115 @@
+package api;
+
+/**
+ * State machine that reads one token a character at a time and decides
+ * what number it is. Every parser feeds its tokens through one of these,
+ * so a file parses to the same numbers whichever path reads it.
+ *
+ * <p>A token is a number when it is an optional sign followed by at least
+ * one decimal digit, with any number of leading zeros. It is an INT when
+ * its value fits an int, a LONG when it only fits a long, and INVALID
+ * otherwise. Parsers skip tokens that are not ints; those that report to
+ * a caller pass them on, as the streaming compute path does through
+ * FactorConsumer.reject and acceptLong.
+ */
+final class NumberToken {
+    static final int INT = 0;
+    static final int LONG = 1;
+    static final int INVALID = 2;
+
+    // Below 10^19 a value wraps at most once, so its sign still tells whether it fits
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+
+    // Minus the value, so that Long.MIN_VALUE still fits
+    private long accumulated;
+    private int significant;
+    private boolean signed;
+    private boolean negative;
+    private boolean wellFormed = true;
+    private int length;
+
+    /**
+     * Adds the next character of the token.
+     *
+     * @param c The character, or an unsigned byte
+     */
+    void append(int c) {
+        int digit = c - '0';
+        if (digit >= 0 && digit <= 9) {
+            accumulated = accumulated * 10 - digit;
+            // Leading zeros are not counted
+            if (significant > 0 || digit != 0) {
+                significant++;
+            }
+        } else if (length == 0 && (c == '-' || c == '+')) {
+            signed = true;
+            negative = c == '-';
+        } else {
+            wellFormed = false;
+        }
+        length++;
+    }
+
+    /**
+     * Classifies the characters added since the last reset.
+     *
+     * @return INT, LONG or INVALID
+     */
+    int kind() {
+        if (!wellFormed || length == (signed ? 1 : 0) || significant > MAX_SIGNIFICANT_DIGITS
+                || accumulated > 0 || (!negative && accumulated == Long.MIN_VALUE)) {
+            return INVALID;
+        }
+        long value = longValue();
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? INT : LONG;
+    }
+
+    /**
+     * Checks whether the characters added since the last reset are an int.
+     *
+     * @return True if kind would return INT
+     */
+    boolean isInt() {
+        return wellFormed && length > (signed ? 1 : 0) && significant <= 10
+                && accumulated >= (negative ? Integer.MIN_VALUE : -(long) Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the value of a token classified as INT.
+     *
+     * @return The value
+     */
+    int intValue() {
+        return (int) longValue();
+    }
+
+    /**
+     * Gets the value of a token classified as INT or LONG.
+     *
+     * @return The value
+     */
+    long longValue() {
+        return negative ? accumulated : -accumulated;
+    }
+
+    /**
+     * Gets the number of characters added since the last reset.
+     *
+     * @return The token length, 0 between tokens
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Starts a new token.
+     */
+    void reset() {
+        accumulated = 0;
+        significant = 0;
+        signed = false;
+        negative = false;
+        wellFormed = true;
+        length = 0;
+    }
+}
@@ -0,0 +1,139 @@
+package api;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits a character stream into int tokens on the separators of a
+ * DelimiterSet, reading a fixed-size buffer at a time, so streamed input is
+ * split exactly like input parsed from files. No regular expressions or
+ * per-token Strings are used; the text of a token is only turned into a
+ * String when it fails to parse. Tokens are classified by NumberToken, and
+ * those that are not ints are left to the caller to report.
+ */
+final class NumberTokenizer {
+    private static final int BUFFER_SIZE = 8192;
+    // Longest valid token, "-2147483648"
+    private static final int MAX_TOKEN_LENGTH = 11;
+
+    private final Reader reader;
+    private final boolean[] separators;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    // Text of the current token, kept up to a short prefix for error messages
+    private final StringBuilder token = new StringBuilder(MAX_TOKEN_LENGTH + 1);
+    private final NumberToken number = new NumberToken();
+    private int kind;
+
+    NumberTokenizer(Reader reader, String[] delimiters) {
+        this.reader = reader;
+        this.separators = DelimiterSet.of(delimiters).table();
+    }
+
+    /**
+     * Moves to the next token.
+     *
+     * @return False once the stream is exhausted
+     * @throws IOException If reading fails
+     */
+    boolean next() throws IOException {
+        token.setLength(0);
+        // Skip separators
+        while (true) {
+            if (position == limit && !fill()) {
+                return false;
+            }
+            if (!isSeparator(buffer[position])) {
+                break;
+            }
+            position++;
+        }
+
+        number.reset();
+        while (true) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            char c = buffer[position];
+            if (isSeparator(c)) {
+                break;
+            }
+            position++;
+            if (number.length() < MAX_TOKEN_LENGTH + 1) {
+                token.append(c);
+            }
+            number.append(c);
+        }
+        if (number.length() > MAX_TOKEN_LENGTH) {
+            token.setLength(MAX_TOKEN_LENGTH);
+            token.append("...");
+        }
+        kind = number.kind();
+        return true;
+    }
+
+    /**
+     * Checks whether the current token is an int.
+     *
+     * @return True if value holds the parsed token
+     */
+    boolean isValid() {
+        return kind == NumberToken.INT;
+    }
+
+    /**
+     * Gets the current token as an int.
+     *
+     * @return The parsed value, only meaningful if isValid is true
+     */
+    int value() {
+        return number.intValue();
+    }
+
+    /**
+     * Checks whether the current token is a number that fits a long but not an int.
+     *
+     * @return True if longValue holds the parsed token
+     */
+    boolean isLong() {
+        return kind == NumberToken.LONG;
+    }
+
+    /**
+     * Gets the current token as a long.
+     *
+     * @return The parsed value, only meaningful if isValid or isLong is true
+     */
+    long longValue() {
+        return number.longValue();
+    }
+
+    /**
+     * Gets the text of the current token, shortened if it is very long.
+     *
+     * @return The token text
+     */
+    String token() {
+        return token.toString();
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private boolean isSeparator(char c) {
+        return c < 256 && separators[c];
+    }
+}
@@ -1,5 +1,6 @@
 package api;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -8,15 +9,21 @@ import java.util.List;
  * algorithm for finding factors by only checking up to the square root of the input number.
  */
 public class OptimizedComputationEngineImpl implements ComputationAPI {
+    private final PrimalityFilter primality = new PrimalityFilter();
     
     @Override
     public ComputationResult compute(String inputData, String[] delimiters) {
         try {
-            int number = parseInput(inputData);
-            List<Integer> factors = findFactors(number);
-            return new ComputationResultImpl(true, factors);
+            long number = parseInput(DelimiterSet.of(delimiters).singleToken(inputData));
+            if (number > Integer.MAX_VALUE || number < Integer.MIN_VALUE) {
+                // Too large for the int path, factor it with 64-bit arithmetic instead
+                return new LongComputationResultImpl(true, findFactorsLong(number));
+            }
+            int[] scratch = new int[MAX_FACTOR_COUNT];
+            int count = findFactorsInto((int) number, scratch);
+            return new PrimitiveComputationResult(Arrays.copyOf(scratch, count), count);
         } catch (NumberFormatException e) {
-            return new ComputationResultImpl(false, null);
+            return new ComputationResultImpl(false, null, "Invalid input data: " + e.getMessage());
         }
     }
     
@@ -31,7 +38,7 @@ public class OptimizedComputationEngineImpl implements ComputationAPI {
         if (numbers == null || numbers.isEmpty()) {
             throw new IllegalArgumentException("List of numbers cannot be null or empty");
         }
-        return Collections.max(numbers);
+        return StatisticsAccumulator.of(numbers).getMax();
     }
     
     @Override
@@ -39,16 +46,62 @@ public class OptimizedComputationEngineImpl implements ComputationAPI {
         return findFactorsOptimized(number);
     }
     
+    @Override
+    public int findFactorsInto(int number, int[] scratch) {
+        ComputationAPI.requireScratch(scratch);
+        int prime = primality.writeIfPrime(number, scratch);
+        if (prime > 0) {
+            return prime;
+        }
+        int small = 0;
+        int large = scratch.length;
+        int sqrt = (int) Math.sqrt(number);
+        
+        for (int i = 1; i <= sqrt; i++) {
+            if (number % i == 0) {
+                scratch[small++] = i;
+                if (i != number / i) {
+                    // Paired divisors arrive in descending order, so fill them in from the back
+                    scratch[--large] = number / i;
+                }
+            }
+        }
+        int largeCount = scratch.length - large;
+        System.arraycopy(scratch, large, scratch, small, largeCount);
+        return small + largeCount;
+    }
+    
+    /**
+     * Gets the primality check run before each factorization, with its hit counters.
+     * 
+     * @return The primality filter
+     */
+    public PrimalityFilter getPrimalityFilter() {
+        return primality;
+    }
+    
+    /**
+     * Finds the factors of every number in a batch. One list of primes up to the
+     * square root of the largest input is shared by the whole batch, so each
+     * number is trial-divided by primes only.
+     */
+    @Override
+    public FactorBatch findFactorsBatch(int[] numbers, boolean deduplicate) {
+        int max = 0;
+        for (int number : numbers) {
+            max = Math.max(max, number);
+        }
+        int[] primes = Divisors.primesUpTo((int) Math.sqrt(max));
+        return FactorBatch.fromPrimeFactors(numbers, deduplicate,
+                (number, factorPrimes, exponents) -> Divisors.factorWithPrimes(number, primes, factorPrimes, exponents));
+    }
+    
     @Override
     public double calculateSum(List<Double> numbers) {
         if (numbers == null || numbers.isEmpty()) {
             return 0;
         }
-        double sum = 0;
-        for (Double num : numbers) {
-            sum += num;
-        }
-        return sum;
+        return StatisticsAccumulator.of(numbers).getSum();
     }
     
     @Override
@@ -56,7 +109,7 @@ public class OptimizedComputationEngineImpl implements ComputationAPI {
         if (numbers == null || numbers.isEmpty()) {
             return 0;
         }
-        return calculateSum(numbers) / numbers.size();
+        return StatisticsAccumulator.of(numbers).getAverage();
     }
     
     @Override
@@ -64,15 +117,20 @@ public class OptimizedComputationEngineImpl implements ComputationAPI {
         if (numbers == null || numbers.isEmpty()) {
             throw new IllegalArgumentException("List of numbers cannot be null or empty");
         }
-        return Collections.min(numbers);
+        return StatisticsAccumulator.of(numbers).getMin();
     }
     
-    private int parseInput(String inputData) {
-        return Integer.parseInt(inputData.trim());
+    private long parseInput(String inputData) {
+        return Long.parseLong(inputData.trim());
     }
     
     private List<Integer> findFactorsOptimized(int number) {
         List<Integer> factors = new ArrayList<>();
+        if (primality.isPrime(number)) {
+            factors.add(1);
+            factors.add(number);
+            return factors;
+        }
         int sqrt = (int) Math.sqrt(number);
         
         for (int i = 1; i <= sqrt; i++) {
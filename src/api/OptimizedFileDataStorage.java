@@ -1,21 +1,71 @@
 package api;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class OptimizedFileDataStorage implements DataStorage, StorageAPI {
-    private static final ConcurrentHashMap<String, String> FILE_CACHE = new ConcurrentHashMap<>();
+    // Shared by default so that storages created per request still reuse file contents
+    private static final FileContentCache SHARED_CACHE = new FileContentCache();
+    private final FileContentCache cache;
     private String source = "";
 
-    public List<Integer> readNumbers(ComputeRequest request) {
-        // Implementation details
-        return new ArrayList<>();
+    public OptimizedFileDataStorage() {
+        this(SHARED_CACHE);
+    }
+
+    public OptimizedFileDataStorage(FileContentCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("Cache cannot be null");
+        }
+        this.cache = cache;
+    }
+
+    /**
+     * Get the cache of file contents, for its statistics
+     * @return The cache used by this storage
+     */
+    public FileContentCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Open the source of a request as a stream of numbers
+     * @param request The request naming the source and its delimiters
+     * @return Cursor over the numbers, to be closed by the caller
+     * @throws IOException If the source cannot be opened
+     */
+    public IntCursor readNumbers(ComputeRequest request) throws IOException {
+        return readNumbers(request.getSource(), request.getDelimiters());
+    }
+
+    /**
+     * Open a file as a stream of numbers, from the cache if it holds the
+     * file and otherwise read from disk a buffer at a time
+     * @param source The file to read
+     * @param delimiters Delimiters separating the numbers, in addition to whitespace and commas
+     * @return Cursor over the numbers, to be closed by the caller
+     * @throws IOException If the file cannot be opened
+     */
+    @Override
+    public IntCursor readNumbers(String source, String[] delimiters) throws IOException {
+        this.source = source;
+        String cachedContent = cache.get(source);
+        if (cachedContent != null) {
+            return new IntCursor(new ByteArrayInputStream(cachedContent.getBytes(StandardCharsets.UTF_8)), delimiters);
+        }
+        // Like openReader, streamed reads are not cached
+        return new IntCursor(Files.newInputStream(Paths.get(source)), delimiters);
     }
 
     public String getSource() {
@@ -23,9 +73,15 @@ public class OptimizedFileDataStorage implements DataStorage, StorageAPI {
     }
 
     public boolean writeData(String destination, String data) {
+        cache.invalidate(destination);
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(destination))) {
             writer.write(data);
-            FILE_CACHE.put(destination, data);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        try {
+            cache.put(destination, data, FileContentCache.stamp(destination));
             return true;
         } catch (IOException e) {
             e.printStackTrace();
@@ -36,25 +92,33 @@ public class OptimizedFileDataStorage implements DataStorage, StorageAPI {
     public String readData(String source, String[] delimiters) {
         this.source = source;
         
-        // Check cache first
-        String cachedContent = FILE_CACHE.get(source);
+        // Check cache first; it drops contents whose file has changed since
+        String cachedContent = cache.get(source);
         if (cachedContent != null) {
             return cachedContent;
         }
         
-        // Not in cache, read from file
+        // Not in cache, read from file. The stamp is taken first, so a write
+        // racing with the read leaves an entry that the next lookup rejects
+        try {
+            FileContentCache.Stamp stamp = FileContentCache.stamp(source);
+            String result = readFile(source);
+            cache.put(source, result, stamp);
+            return result;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return "";
+        }
+    }
+
+    private static String readFile(String source) throws IOException {
         try (BufferedReader reader = new BufferedReader(new FileReader(source))) {
             StringBuilder content = new StringBuilder();
             String line;
             while ((line = reader.readLine()) != null) {
                 content.append(line).append("\n");
             }
-            String result = content.toString();
-            FILE_CACHE.put(source, result);
-            return result;
-        } catch (IOException e) {
-            e.printStackTrace();
-            return "";
+            return content.toString();
         }
     }
 
@@ -62,26 +126,49 @@ public class OptimizedFileDataStorage implements DataStorage, StorageAPI {
         writeData(destination, content);
     }
 
+    @Override
+    public Reader openReader(String source) throws IOException {
+        this.source = source;
+        String cachedContent = cache.get(source);
+        if (cachedContent != null) {
+            return new StringReader(cachedContent);
+        }
+        // Streamed reads are not cached, since the point is not to hold the whole file
+        return Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public StagedWriter openWriter(String destination) throws IOException {
+        // Stamps would catch the replaced file too, but there is no point keeping the old contents
+        cache.invalidate(destination);
+        return StagedWriter.toFile(Paths.get(destination));
+    }
+
     /**
-     * Parse raw string data into a StorageResponse
+     * Parse raw string data into a StorageResponse, splitting it on
+     * whitespace and commas. Tokens that are not ints are skipped
      * @param data The raw data to parse
      * @return StorageResponse containing parsed numbers
      */
     @Override
     public StorageResponse parseData(String data) {
-        List<Integer> numbers = new ArrayList<>();
-        if (data != null && !data.isEmpty()) {
-            // Using a cache key to potentially store parsed results in the future
-            String[] parts = data.split("\\s+|,");
-            for (String part : parts) {
-                try {
-                    if (!part.trim().isEmpty()) {
-                        numbers.add(Integer.parseInt(part.trim()));
-                    }
-                } catch (NumberFormatException ignored) {
-                    // Skip non-numeric values
-                }
-            }
+        return parseData(data, null);
+    }
+
+    /**
+     * Parse raw string data into a StorageResponse, splitting it on
+     * whitespace, commas and the given delimiters. Tokens that are not
+     * ints are skipped
+     * @param data The raw data to parse
+     * @param delimiters The delimiters the data was read with, may be null
+     * @return StorageResponse containing parsed numbers
+     */
+    @Override
+    public StorageResponse parseData(String data, String[] delimiters) {
+        int[] parsed = DelimiterSet.of(delimiters).parse(data);
+        List<Integer> numbers = new ArrayList<>(parsed.length);
+        for (int number : parsed) {
+            numbers.add(number);
         }
         return new StorageResponseImpl(numbers, true);
     }
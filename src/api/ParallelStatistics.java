@@ -0,0 +1,112 @@
+package api;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes StatisticsAccumulator results over a primitive array on a
+ * ForkJoinPool. The array is split in halves until a chunk is no larger than
+ * the sequential threshold; each chunk is summarized on its own and the
+ * partial results are merged with StatisticsAccumulator.combine.
+ */
+public class ParallelStatistics {
+    /**
+     * Default chunk size below which work is not split further. At a few
+     * nanoseconds per element this keeps each task well above the cost of
+     * forking it. The value is a guess: the crossover was never measured on
+     * more than one core; see OptimizingFilesREADMEs/ParallelStatistics.md.
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelStatistics() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelStatistics(int threshold) {
+        this(ForkJoinPool.commonPool(), threshold);
+    }
+
+    public ParallelStatistics(ForkJoinPool pool, int threshold) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Sequential threshold must be at least 1");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Gets the chunk size below which work runs sequentially.
+     *
+     * @return The sequential threshold
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Computes the statistics of an array.
+     *
+     * @param values The values to summarize
+     * @return The statistics of the values
+     */
+    public StatisticsAccumulator compute(double[] values) {
+        return compute(values, 0, values.length);
+    }
+
+    /**
+     * Computes the statistics of a range of an array.
+     *
+     * @param values The array holding the values
+     * @param from Index of the first value
+     * @param to Index after the last value
+     * @return The statistics of the range
+     */
+    public StatisticsAccumulator compute(double[] values, int from, int to) {
+        if (from < 0 || to > values.length || from > to) {
+            throw new IllegalArgumentException("Invalid range " + from + " to " + to + " for " + values.length + " values");
+        }
+        // With a single worker there is nothing to gain from splitting
+        if (to - from <= threshold || pool.getParallelism() < 2) {
+            StatisticsAccumulator statistics = new StatisticsAccumulator();
+            statistics.accept(values, from, to);
+            return statistics;
+        }
+        return pool.invoke(new StatisticsTask(values, from, to, threshold));
+    }
+
+    private static final class StatisticsTask extends RecursiveTask<StatisticsAccumulator> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] values;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        StatisticsTask(double[] values, int from, int to, int threshold) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected StatisticsAccumulator compute() {
+            if (to - from <= threshold) {
+                StatisticsAccumulator statistics = new StatisticsAccumulator();
+                statistics.accept(values, from, to);
+                return statistics;
+            }
+            int middle = (from + to) >>> 1;
+            StatisticsTask left = new StatisticsTask(values, from, middle, threshold);
+            left.fork();
+            StatisticsAccumulator right = new StatisticsTask(values, middle, to, threshold).compute();
+            return left.join().combine(right);
+        }
+    }
+}
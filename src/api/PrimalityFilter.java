@@ -0,0 +1,115 @@
+package api;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Primality check run before factorization, so that a prime input is
+ * answered with {1, n} instead of a trial-division scan up to its square root.
+ * Odd numbers below BITMAP_BOUND are looked up in a bitmap shared by every
+ * filter, packed from SmallestFactorTable.sieve; larger numbers go to
+ * LongFactorizer.isPrime, whose trial division and deterministic
+ * Miller-Rabin test cover every int.
+ * Each filter counts how often each path decided the answer.
+ */
+public final class PrimalityFilter {
+    /** Numbers below this bound are answered from the prime bitmap. */
+    public static final int BITMAP_BOUND = 1 << 22;
+
+    private final LongAdder bitmapPrimes = new LongAdder();
+    private final LongAdder millerRabinPrimes = new LongAdder();
+    private final LongAdder composites = new LongAdder();
+
+    /**
+     * Checks whether a number is prime, counting the path that decided it.
+     *
+     * @param number The number to test
+     * @return True if the number is prime
+     */
+    public boolean isPrime(int number) {
+        if (number < 2) {
+            composites.increment();
+            return false;
+        }
+        if (number < BITMAP_BOUND) {
+            if (isPrimeBelowBound(number)) {
+                bitmapPrimes.increment();
+                return true;
+            }
+        } else if ((number & 1) != 0 && LongFactorizer.isPrime(number)) {
+            millerRabinPrimes.increment();
+            return true;
+        }
+        composites.increment();
+        return false;
+    }
+
+    /**
+     * Writes the factors of a prime, 1 and itself, if the number is prime.
+     *
+     * @param number The number to test
+     * @param scratch Buffer receiving the factors
+     * @return 2 if the number is prime and its factors were written, otherwise 0
+     */
+    public int writeIfPrime(int number, int[] scratch) {
+        if (!isPrime(number)) {
+            return 0;
+        }
+        scratch[0] = 1;
+        scratch[1] = number;
+        return 2;
+    }
+
+    /**
+     * Gets the number of primes found in the bitmap.
+     *
+     * @return The bitmap hit count
+     */
+    public long getBitmapPrimeCount() {
+        return bitmapPrimes.sum();
+    }
+
+    /**
+     * Gets the number of primes found by Miller-Rabin.
+     *
+     * @return The Miller-Rabin hit count
+     */
+    public long getMillerRabinPrimeCount() {
+        return millerRabinPrimes.sum();
+    }
+
+    /**
+     * Gets the number of inputs that were not prime and went on to be factored.
+     *
+     * @return The composite count, including 1 and numbers below it
+     */
+    public long getCompositeCount() {
+        return composites.sum();
+    }
+
+    // Only odd numbers are stored, so bit n >>> 1 stands for n
+    private static boolean isPrimeBelowBound(int number) {
+        if ((number & 1) == 0) {
+            return number == 2;
+        }
+        int bit = number >>> 1;
+        return (Bitmap.ODD_PRIMES[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    // Built on first use by the class loader, which also makes it safely shared
+    private static final class Bitmap {
+        static final long[] ODD_PRIMES = build();
+
+        private static long[] build() {
+            // The sieve marks odd primes at n >> 1 with 0; pack that into one bit each
+            char[] smallestFactors = SmallestFactorTable.sieve(BITMAP_BOUND - 1);
+            long[] words = new long[(smallestFactors.length + 63) >>> 6];
+            // Index 0 stands for 1, which is not prime
+            for (int bit = 1; bit < smallestFactors.length; bit++) {
+                if (smallestFactors[bit] == 0) {
+                    words[bit >>> 6] |= 1L << bit;
+                }
+            }
+            return words;
+        }
+    }
+}
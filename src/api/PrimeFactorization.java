@@ -0,0 +1,197 @@
+package api;
+
+import java.util.Arrays;
+
+/**
+ * Prime factorization of a positive int, and the divisor functions that can
+ * be read from it without listing the divisors. Holds at most nine primes,
+ * so every query runs in O(log n) memory.
+ */
+public final class PrimeFactorization {
+    private final int number;
+    private final int[] primes;
+    private final int[] exponents;
+
+    PrimeFactorization(int number, int[] primes, int[] exponents, int count) {
+        this.number = number;
+        this.primes = Arrays.copyOf(primes, count);
+        this.exponents = Arrays.copyOf(exponents, count);
+    }
+
+    /**
+     * Factors a number by trial division with 2 and the odd numbers.
+     *
+     * @param number The number to factor, must be positive
+     * @return The prime factorization of the number
+     */
+    static PrimeFactorization trialDivision(int number) {
+        requirePositive(number);
+        int[] primes = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int count = 0;
+        int n = number;
+
+        int twos = Integer.numberOfTrailingZeros(n);
+        if (twos > 0) {
+            primes[count] = 2;
+            exponents[count++] = twos;
+            n >>>= twos;
+        }
+        for (int p = 3; (long) p * p <= n; p += 2) {
+            if (n % p == 0) {
+                int exponent = 0;
+                do {
+                    n /= p;
+                    exponent++;
+                } while (n % p == 0);
+                primes[count] = p;
+                exponents[count++] = exponent;
+            }
+        }
+        if (n > 1) {
+            primes[count] = n;
+            exponents[count++] = 1;
+        }
+        return new PrimeFactorization(number, primes, exponents, count);
+    }
+
+    static void requirePositive(int number) {
+        if (number < 1) {
+            throw new IllegalArgumentException("Only positive numbers have a prime factorization: " + number);
+        }
+    }
+
+    /**
+     * Gets the number that was factored.
+     *
+     * @return The number
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     * Gets a distinct prime factor.
+     *
+     * @param index Position of the prime, in ascending order
+     * @return The prime
+     */
+    public int getPrime(int index) {
+        return primes[index];
+    }
+
+    /**
+     * Gets the exponent of a distinct prime factor.
+     *
+     * @param index Position of the prime, in ascending order
+     * @return The exponent of that prime
+     */
+    public int getExponent(int index) {
+        return exponents[index];
+    }
+
+    /**
+     * Gets the number of distinct prime factors, omega(n).
+     *
+     * @return The distinct prime count, 0 for 1
+     */
+    public int distinctPrimeCount() {
+        return primes.length;
+    }
+
+    /**
+     * Gets the number of divisors, tau(n).
+     *
+     * @return The divisor count
+     */
+    public int divisorCount() {
+        int count = 1;
+        for (int exponent : exponents) {
+            count *= exponent + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the sum of all divisors, sigma(n).
+     *
+     * @return The divisor sum
+     */
+    public long divisorSum() {
+        long sum = 1;
+        for (int i = 0; i < primes.length; i++) {
+            // 1 + p + p^2 + ... + p^e
+            long term = 1;
+            long power = 1;
+            for (int k = 0; k < exponents[i]; k++) {
+                power *= primes[i];
+                term += power;
+            }
+            sum *= term;
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the product of the distinct prime factors.
+     *
+     * @return The radical, 1 for 1
+     */
+    public int radical() {
+        int radical = 1;
+        for (int p : primes) {
+            radical *= p;
+        }
+        return radical;
+    }
+
+    /**
+     * Checks whether the number is prime.
+     *
+     * @return True if the number has exactly one prime factor, once
+     */
+    public boolean isPrime() {
+        return primes.length == 1 && exponents[0] == 1;
+    }
+
+    /**
+     * Checks whether no prime divides the number more than once.
+     *
+     * @return True if the number is squarefree
+     */
+    public boolean isSquarefree() {
+        for (int exponent : exponents) {
+            if (exponent > 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the number equals the sum of its proper divisors.
+     *
+     * @return True if the number is perfect
+     */
+    public boolean isPerfect() {
+        return divisorSum() == 2L * number;
+    }
+
+    @Override
+    public String toString() {
+        if (primes.length == 0) {
+            return "1";
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < primes.length; i++) {
+            if (i > 0) {
+                builder.append(" * ");
+            }
+            builder.append(primes[i]);
+            if (exponents[i] > 1) {
+                builder.append('^').append(exponents[i]);
+            }
+        }
+        return builder.toString();
+    }
+}
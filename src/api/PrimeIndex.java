@@ -0,0 +1,287 @@
+package api;
+
+import java.util.Arrays;
+
+/**
+ * Inverted index over the inputs of one job: for every prime power p^k that
+ * divides some input, a compressed bitmap of the positions of the inputs it
+ * divides. "Which inputs are divisible by d" is then one bitmap intersection
+ * per prime of d instead of a rescan of the results.
+ *
+ * <p>Positions are assigned in the order numbers are added. An index is not
+ * thread-safe while it is being built; once complete it may be shared and
+ * queried from any number of threads if it was safely published.
+ *
+ * <p>Most prime powers of large inputs divide a single input, so the table
+ * from prime power to positions is open-addressed over primitive arrays and
+ * keeps a lone position inline; a bitmap is only made for a power once a
+ * second input shares it.
+ */
+public final class PrimeIndex {
+    // Estimated work to expand the divisors of one stored input, relative to one trial division
+    private static final int SCAN_COST = 32;
+
+    // Open-addressed by prime power, 0 marking a free slot since every power is at least 2
+    private int[] powers = new int[64];
+    // For each power, the one position it divides, or ~i once its positions are in shared[i]
+    private int[] postings = new int[64];
+    private int powerCount;
+    private CompressedBitmap[] shared = new CompressedBitmap[16];
+    private int sharedCount;
+    private final CompressedBitmap positive = new CompressedBitmap();
+    private int[] numbers = new int[16];
+    // Prime and exponent pairs of every input, indexed through factorStarts
+    private int[] factorData = new int[32];
+    private int[] factorStarts = new int[17];
+    private int size;
+
+    // Work buffers for add
+    private final int[] primes = new int[Divisors.MAX_DISTINCT_PRIMES];
+    private final int[] exponents = new int[Divisors.MAX_DISTINCT_PRIMES];
+
+    /**
+     * Adds a number, factoring it by trial division.
+     *
+     * @param number The number; numbers below 1 take a position but are not indexed
+     * @return The position of the number
+     */
+    public int add(int number) {
+        if (number < 1) {
+            return append(number, 0);
+        }
+        PrimeFactorization factorization = PrimeFactorization.trialDivision(number);
+        int count = factorization.distinctPrimeCount();
+        for (int i = 0; i < count; i++) {
+            primes[i] = factorization.getPrime(i);
+            exponents[i] = factorization.getExponent(i);
+        }
+        return append(number, count);
+    }
+
+    /**
+     * Adds a number whose divisors are already known, as they are when
+     * results are being written. The primes are read off the divisor list
+     * without dividing by anything else.
+     *
+     * @param number The number; numbers below 1 take a position but are not indexed
+     * @param divisors Array holding the divisors of the number in ascending order
+     * @param offset Index of the first divisor
+     * @param count The number of divisors
+     * @return The position of the number
+     */
+    public int add(int number, int[] divisors, int offset, int count) {
+        if (number < 1) {
+            return append(number, 0);
+        }
+        int remaining = number;
+        int distinct = 0;
+        // The smallest divisor above 1 of what is left is always a prime
+        for (int i = offset; i < offset + count && remaining > 1; i++) {
+            int d = divisors[i];
+            if (d > 1 && remaining % d == 0) {
+                int exponent = 0;
+                do {
+                    remaining /= d;
+                    exponent++;
+                } while (remaining % d == 0);
+                primes[distinct] = d;
+                exponents[distinct++] = exponent;
+            }
+        }
+        if (remaining != 1 || count != Divisors.count(exponents, distinct)) {
+            throw new IllegalArgumentException("Not the full divisor list of " + number);
+        }
+        return append(number, distinct);
+    }
+
+    /**
+     * Gets the number of positions in the index.
+     *
+     * @return The number of inputs added
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the input at a position.
+     *
+     * @param position The position
+     * @return The number added at that position
+     */
+    public int getNumber(int position) {
+        if (position < 0 || position >= size) {
+            throw new IllegalArgumentException("Position " + position + " out of range for " + size + " inputs");
+        }
+        return numbers[position];
+    }
+
+    /**
+     * Finds the inputs divisible by a number.
+     *
+     * @param divisor The divisor, must be positive
+     * @return A new bitmap of the positions of the inputs it divides
+     */
+    public CompressedBitmap divisibleBy(int divisor) {
+        if (divisor < 1) {
+            throw new IllegalArgumentException("Divisor must be positive: " + divisor);
+        }
+        CompressedBitmap result = positive;
+        PrimeFactorization factorization = PrimeFactorization.trialDivision(divisor);
+        for (int i = 0; i < factorization.distinctPrimeCount() && !result.isEmpty(); i++) {
+            result = result.and(positionsOf(power(factorization.getPrime(i), factorization.getExponent(i))));
+        }
+        // Never hand out the index's own bitmap
+        return result == positive ? positive.or(new CompressedBitmap()) : result;
+    }
+
+    /**
+     * Finds the inputs that have at least one divisor in a range. Narrow
+     * ranges are answered from the bitmaps one candidate divisor at a time;
+     * wide ones by expanding the divisors of each input from its stored
+     * factorization, whichever is estimated to be cheaper.
+     *
+     * @param low The smallest divisor, must be positive
+     * @param high The largest divisor, inclusive
+     * @return A new bitmap of the matching positions
+     */
+    public CompressedBitmap withDivisorIn(int low, int high) {
+        if (low < 1 || high < low) {
+            throw new IllegalArgumentException("Invalid divisor range [" + low + ", " + high + "]");
+        }
+        long width = (long) high - low + 1;
+        long unionCost = width * ((long) Math.sqrt(high) / 2 + 1);
+        if (unionCost <= (long) size * SCAN_COST) {
+            CompressedBitmap result = new CompressedBitmap();
+            for (long d = low; d <= high; d++) {
+                CompressedBitmap positions = divisibleBy((int) d);
+                if (!positions.isEmpty()) {
+                    result = result.or(positions);
+                }
+            }
+            return result;
+        }
+
+        CompressedBitmap result = new CompressedBitmap();
+        int[] divisors = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int[] merged = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int[] base = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int[] scanPrimes = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int[] scanExponents = new int[Divisors.MAX_DISTINCT_PRIMES];
+        for (int position = 0; position < size; position++) {
+            if (numbers[position] < low) {
+                // Every divisor of it is below the range too
+                continue;
+            }
+            int start = factorStarts[position];
+            int distinct = (factorStarts[position + 1] - start) / 2;
+            for (int i = 0; i < distinct; i++) {
+                scanPrimes[i] = factorData[start + 2 * i];
+                scanExponents[i] = factorData[start + 2 * i + 1];
+            }
+            int count = Divisors.write(scanPrimes, scanExponents, distinct, divisors, merged, base);
+            int index = Arrays.binarySearch(divisors, 0, count, low);
+            int next = index >= 0 ? index : -index - 1;
+            if (next < count && divisors[next] <= high) {
+                result.add(position);
+            }
+        }
+        return result;
+    }
+
+    private int append(int number, int distinct) {
+        int position = size;
+        if (position == numbers.length) {
+            numbers = Arrays.copyOf(numbers, position * 2);
+            factorStarts = Arrays.copyOf(factorStarts, position * 2 + 1);
+        }
+        int start = factorStarts[position];
+        if (start + 2 * distinct > factorData.length) {
+            factorData = Arrays.copyOf(factorData, Math.max(factorData.length * 2, start + 2 * distinct));
+        }
+        for (int i = 0; i < distinct; i++) {
+            factorData[start + 2 * i] = primes[i];
+            factorData[start + 2 * i + 1] = exponents[i];
+            int power = 1;
+            for (int k = 0; k < exponents[i]; k++) {
+                power *= primes[i];
+                addPosition(power, position);
+            }
+        }
+        if (number >= 1) {
+            positive.add(position);
+        }
+        numbers[position] = number;
+        factorStarts[position + 1] = start + 2 * distinct;
+        size++;
+        return position;
+    }
+
+    private void addPosition(int power, int position) {
+        int slot = slot(power);
+        if (powers[slot] == 0) {
+            powers[slot] = power;
+            postings[slot] = position;
+            if (++powerCount * 4 > powers.length * 3) {
+                grow();
+            }
+        } else if (postings[slot] < 0) {
+            shared[~postings[slot]].add(position);
+        } else if (postings[slot] != position) {
+            CompressedBitmap positions = new CompressedBitmap();
+            positions.add(postings[slot]);
+            positions.add(position);
+            if (sharedCount == shared.length) {
+                shared = Arrays.copyOf(shared, sharedCount * 2);
+            }
+            shared[sharedCount] = positions;
+            postings[slot] = ~sharedCount++;
+        }
+    }
+
+    // Positions of the inputs a prime power divides, shared for powers that have a bitmap
+    private CompressedBitmap positionsOf(int power) {
+        int slot = slot(power);
+        if (powers[slot] == 0) {
+            return new CompressedBitmap();
+        }
+        if (postings[slot] < 0) {
+            return shared[~postings[slot]];
+        }
+        CompressedBitmap single = new CompressedBitmap();
+        single.add(postings[slot]);
+        return single;
+    }
+
+    // The slot holding a power, or the free slot where it belongs
+    private int slot(int power) {
+        int mask = powers.length - 1;
+        int slot = (power * 0x9E3779B9 >>> 7) & mask;
+        while (powers[slot] != 0 && powers[slot] != power) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldPowers = powers;
+        int[] oldPostings = postings;
+        powers = new int[oldPowers.length * 2];
+        postings = new int[oldPowers.length * 2];
+        for (int i = 0; i < oldPowers.length; i++) {
+            if (oldPowers[i] != 0) {
+                int slot = slot(oldPowers[i]);
+                powers[slot] = oldPowers[i];
+                postings[slot] = oldPostings[i];
+            }
+        }
+    }
+
+    private static int power(int prime, int exponent) {
+        long power = 1;
+        for (int k = 0; k < exponent; k++) {
+            power *= prime;
+        }
+        return (int) power;
+    }
+}
@@ -0,0 +1,73 @@
+package api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computation result backed by an int array, so factors are never boxed
+ * unless a caller asks for the List view.
+ */
+public class PrimitiveComputationResult implements ComputationResult {
+    private static final int[] NO_FACTORS = new int[0];
+
+    private final boolean success;
+    private final int[] factors;
+    private final int length;
+    private final String message;
+
+    public PrimitiveComputationResult(int[] factors, int length) {
+        this(true, factors, length, "Operation completed successfully");
+    }
+
+    public PrimitiveComputationResult(boolean success, int[] factors, int length, String message) {
+        if (factors == null) {
+            factors = NO_FACTORS;
+            length = 0;
+        }
+        if (length < 0 || length > factors.length) {
+            throw new IllegalArgumentException("Length " + length + " out of range for " + factors.length + " factors");
+        }
+        this.success = success;
+        this.factors = factors;
+        this.length = length;
+        this.message = message;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Get the list of factors, boxing them on each call.
+     * Prefer getFactorArray and getFactorCount on hot paths.
+     *
+     * @return The list of factors or null if computation failed
+     */
+    @Override
+    public List<Integer> getFactors() {
+        if (!success) {
+            return null;
+        }
+        List<Integer> list = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            list.add(factors[i]);
+        }
+        return list;
+    }
+
+    @Override
+    public int getFactorCount() {
+        return length;
+    }
+
+    @Override
+    public int[] getFactorArray() {
+        return factors;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,160 @@
+package api;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Factors every integer in a contiguous range with a segmented sieve.
+ * The range is cut into cache-sized segments that are sieved in parallel,
+ * one per core, while results are handed to the consumer in ascending order
+ * on the calling thread.
+ */
+public class SegmentedSieveFactorizer {
+    // 8192 numbers keep the per-segment working set (remaining cofactors plus
+    // prime slots) at a few hundred KB, which fits in a typical L2 cache
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 13;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int segmentSize;
+
+    public SegmentedSieveFactorizer() {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(), DEFAULT_SEGMENT_SIZE);
+    }
+
+    public SegmentedSieveFactorizer(ExecutorService executor, int parallelism, int segmentSize) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Segment size must be at least 1");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Factors every integer from lo to hi inclusive. Numbers below 1 are
+     * reported with no factors, matching findFactors.
+     *
+     * @param lo The first number of the range
+     * @param hi The last number of the range
+     * @param consumer Receives each number's factors in ascending order of the numbers
+     */
+    public void factorRange(int lo, int hi, FactorConsumer consumer) {
+        if (lo > hi) {
+            throw new IllegalArgumentException("Range start " + lo + " is after range end " + hi);
+        }
+        int[] empty = new int[0];
+        long next = lo;
+        for (; next <= hi && next < 1; next++) {
+            consumer.accept((int) next, empty, 0, 0);
+        }
+        if (next > hi) {
+            return;
+        }
+
+        int[] primes = Divisors.primesUpTo((int) Math.sqrt(hi));
+        // Keep a few segments queued beyond the core count so workers never wait on the consumer
+        int maxInFlight = parallelism * 2;
+        Deque<Future<FactorBatch>> inFlight = new ArrayDeque<>();
+        try {
+            while (next <= hi || !inFlight.isEmpty()) {
+                while (next <= hi && inFlight.size() < maxInFlight) {
+                    int start = (int) next;
+                    int end = (int) Math.min(hi, next + segmentSize - 1);
+                    inFlight.add(executor.submit(() -> sieveSegment(start, end, primes)));
+                    next = (long) end + 1;
+                }
+                FactorBatch segment = inFlight.poll().get();
+                int[] factors = segment.getFactorData();
+                for (int i = 0; i < segment.size(); i++) {
+                    consumer.accept(segment.getNumber(i), factors, segment.getFactorOffset(i),
+                            segment.getFactorCount(i));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Range factorization interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Range factorization failed", e.getCause());
+        } finally {
+            for (Future<FactorBatch> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+    }
+
+    // Sieves the positive numbers start..end and expands each into its sorted divisors
+    static FactorBatch sieveSegment(int start, int end, int[] primes) {
+        int length = end - start + 1;
+        int[] numbers = new int[length];
+        int[] remaining = new int[length];
+        for (int i = 0; i < length; i++) {
+            numbers[i] = start + i;
+            remaining[i] = start + i;
+        }
+
+        int slots = Divisors.MAX_DISTINCT_PRIMES;
+        int[] slotPrimes = new int[length * slots];
+        byte[] slotExponents = new byte[length * slots];
+        byte[] slotCounts = new byte[length];
+
+        for (int p : primes) {
+            if ((long) p * p > end) {
+                break;
+            }
+            long first = ((long) start + p - 1) / p * p;
+            for (long m = first; m <= end; m += p) {
+                int i = (int) (m - start);
+                int n = remaining[i];
+                int exponent = 0;
+                do {
+                    n /= p;
+                    exponent++;
+                } while (n % p == 0);
+                remaining[i] = n;
+                int slot = i * slots + slotCounts[i]++;
+                slotPrimes[slot] = p;
+                slotExponents[slot] = (byte) exponent;
+            }
+        }
+
+        int[] offsets = new int[length];
+        int[] counts = new int[length];
+        int[] factors = new int[length * 16];
+        int size = 0;
+        int[] primeBuffer = new int[slots];
+        int[] exponentBuffer = new int[slots];
+        int[] divisors = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int[] merged = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int[] base = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        for (int i = 0; i < length; i++) {
+            int count = slotCounts[i];
+            for (int k = 0; k < count; k++) {
+                primeBuffer[k] = slotPrimes[i * slots + k];
+                exponentBuffer[k] = slotExponents[i * slots + k];
+            }
+            if (remaining[i] > 1) {
+                // What is left after removing every prime up to sqrt(end) is itself prime
+                primeBuffer[count] = remaining[i];
+                exponentBuffer[count++] = 1;
+            }
+            int divisorCount = Divisors.write(primeBuffer, exponentBuffer, count, divisors, merged, base);
+            if (size + divisorCount > factors.length) {
+                factors = Arrays.copyOf(factors, Math.max(size + divisorCount, factors.length * 2));
+            }
+            System.arraycopy(divisors, 0, factors, size, divisorCount);
+            offsets[i] = size;
+            counts[i] = divisorCount;
+            size += divisorCount;
+        }
+        return new FactorBatch(numbers, offsets, counts, factors);
+    }
+}
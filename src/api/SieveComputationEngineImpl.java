@@ -0,0 +1,188 @@
+package api;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ComputationAPI implementation backed by a smallest-prime-factor table.
+ * The table is built once up to a configurable bound, or mapped from a file
+ * made by MappedSmallestFactorTable, after which every number below the
+ * bound is factored in O(log n) and its divisors are produced in ascending
+ * order directly from the prime exponents.
+ * Numbers above the bound fall back to trial division.
+ */
+public class SieveComputationEngineImpl extends OptimizedComputationEngineImpl {
+    // Covers the inputs we see in practice (random numbers below one million)
+    public static final int DEFAULT_BOUND = 1_000_000;
+
+    // Largest prime needed to trial-divide any positive int
+    private static final int INT_SQRT_LIMIT = 46341;
+
+    private final int bound;
+    private final SmallestFactorTable smallestFactor;
+    // Primes up to min(bound, sqrt(Integer.MAX_VALUE)), used for the trial-division fallback
+    private final int[] primes;
+
+    public SieveComputationEngineImpl() {
+        this(DEFAULT_BOUND);
+    }
+
+    public SieveComputationEngineImpl(int bound) {
+        this(SmallestFactorTable.build(bound));
+    }
+
+    /**
+     * Creates an engine over an existing table, such as a MappedSmallestFactorTable
+     * shared with other processes.
+     *
+     * @param table The smallest-prime-factor table to use
+     */
+    public SieveComputationEngineImpl(SmallestFactorTable table) {
+        this.bound = table.getBound();
+        this.smallestFactor = table;
+        this.primes = collectPrimes(table, Math.min(bound, INT_SQRT_LIMIT));
+    }
+
+    /**
+     * Gets the largest number covered by the smallest-prime-factor table.
+     *
+     * @return The sieve bound
+     */
+    public int getBound() {
+        return bound;
+    }
+
+    @Override
+    public List<Integer> findFactors(int number) {
+        int[] divisors = sortedDivisors(number);
+        List<Integer> factors = new ArrayList<>(divisors.length);
+        for (int divisor : divisors) {
+            factors.add(divisor);
+        }
+        return factors;
+    }
+
+    /**
+     * Computes the divisors of a number in ascending order.
+     *
+     * @param number The number to find divisors for
+     * @return The divisors, or an empty array for numbers below 1
+     */
+    protected int[] sortedDivisors(int number) {
+        if (number < 1) {
+            return new int[0];
+        }
+        int[] factorPrimes = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int count = factorize(number, factorPrimes, exponents);
+        return Divisors.expand(factorPrimes, exponents, count);
+    }
+
+    @Override
+    public FactorBatch findFactorsBatch(int[] numbers, boolean deduplicate) {
+        return FactorBatch.fromPrimeFactors(numbers, deduplicate, this::factorize);
+    }
+
+    @Override
+    public PrimeFactorization factorize(int number) {
+        PrimeFactorization.requirePositive(number);
+        int[] factorPrimes = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int count = factorize(number, factorPrimes, exponents);
+        return new PrimeFactorization(number, factorPrimes, exponents, count);
+    }
+
+    /**
+     * Splits a number into its prime factorization.
+     *
+     * @param number The number to factor, must be positive
+     * @param factorPrimes Receives the distinct primes in ascending order
+     * @param exponents Receives the exponent of each prime
+     * @return The number of distinct primes written
+     */
+    protected int factorize(int number, int[] factorPrimes, int[] exponents) {
+        int count = 0;
+        int n = number;
+
+        int twos = Integer.numberOfTrailingZeros(n);
+        if (twos > 0) {
+            factorPrimes[count] = 2;
+            exponents[count++] = twos;
+            n >>>= twos;
+        }
+
+        // Above the bound: trial-divide until the remaining cofactor fits in the table
+        if (n > bound) {
+            // primes[0] is always 2, which has already been stripped
+            int index = 1;
+            int p = 1;
+            while (n > bound) {
+                // Past the end of the prime list, odd candidates are good enough
+                p = index < primes.length ? primes[index++] : p + 2;
+                if ((long) p * p > n) {
+                    break;
+                }
+                if (n % p == 0) {
+                    int exponent = 0;
+                    do {
+                        n /= p;
+                        exponent++;
+                    } while (n % p == 0);
+                    factorPrimes[count] = p;
+                    exponents[count++] = exponent;
+                }
+            }
+            if (n > bound) {
+                // No factor up to its square root, so the cofactor is prime
+                factorPrimes[count] = n;
+                exponents[count++] = 1;
+                return count;
+            }
+        }
+
+        // Within the bound: follow the smallest-prime-factor chain
+        while (n > 1) {
+            int p = smallestFactor.smallestOddFactor(n);
+            if (p == 0) {
+                p = n;
+            }
+            int exponent = 0;
+            do {
+                n /= p;
+                exponent++;
+            } while (n % p == 0);
+            factorPrimes[count] = p;
+            exponents[count++] = exponent;
+        }
+        return count;
+    }
+
+    @Override
+    public int findFactorsInto(int number, int[] scratch) {
+        ComputationAPI.requireScratch(scratch);
+        if (number < 1) {
+            return 0;
+        }
+        int[] factorPrimes = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[Divisors.MAX_DISTINCT_PRIMES];
+        int count = factorize(number, factorPrimes, exponents);
+        return Divisors.write(factorPrimes, exponents, count, scratch);
+    }
+
+    private static int[] collectPrimes(SmallestFactorTable table, int limit) {
+        int[] found = new int[Math.max(16, limit / 4)];
+        int count = 0;
+        if (limit >= 2) {
+            found[count++] = 2;
+        }
+        for (int n = 3; n <= limit; n += 2) {
+            if (table.smallestOddFactor(n) == 0) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                found[count++] = n;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+}
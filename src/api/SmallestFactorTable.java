@@ -0,0 +1,58 @@
+package api;
+
+/**
+ * Smallest prime factor of every odd number up to a bound.
+ * Even numbers are left out since their smallest factor is always 2.
+ */
+public interface SmallestFactorTable {
+    /**
+     * Gets the largest number covered by the table.
+     * 
+     * @return The bound
+     */
+    int getBound();
+    
+    /**
+     * Looks up the smallest prime factor of an odd number.
+     * 
+     * @param oddNumber An odd number from 3 up to the bound
+     * @return The smallest prime factor, or 0 if the number is prime
+     */
+    int smallestOddFactor(int oddNumber);
+    
+    /**
+     * Sieves a table in memory.
+     * 
+     * @param bound The largest number to cover, at least 2
+     * @return The table
+     */
+    static SmallestFactorTable build(int bound) {
+        return new ArraySmallestFactorTable(sieve(bound), bound);
+    }
+    
+    /**
+     * Sieves the raw table: the smallest factor of each odd n is stored at
+     * n >> 1, with 0 marking a prime. Every odd composite below 2^31 has a
+     * smallest factor below 65536, so a char is enough.
+     * 
+     * @param bound The largest number to cover, at least 2
+     * @return The raw table of (bound >> 1) + 1 entries
+     */
+    static char[] sieve(int bound) {
+        if (bound < 2) {
+            throw new IllegalArgumentException("Sieve bound must be at least 2");
+        }
+        char[] table = new char[(bound >> 1) + 1];
+        for (int p = 3; (long) p * p <= bound; p += 2) {
+            if (table[p >> 1] == 0) {
+                for (long m = (long) p * p; m <= bound; m += 2L * p) {
+                    int index = (int) (m >> 1);
+                    if (table[index] == 0) {
+                        table[index] = (char) p;
+                    }
+                }
+            }
+        }
+        return table;
+    }
+}
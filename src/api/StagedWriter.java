@@ -0,0 +1,161 @@
+package api;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writer whose content only reaches its destination once it is committed.
+ * Closing it without a commit discards everything written, so a job that
+ * fails part way leaves no partial result behind and any earlier content
+ * of the destination untouched.
+ */
+public abstract class StagedWriter extends Writer {
+    private final Writer staging;
+    private boolean committed;
+    private boolean closed;
+
+    protected StagedWriter(Writer staging) {
+        this.staging = staging;
+    }
+
+    /**
+     * Creates a writer that stages its content in a temporary file next to
+     * the destination and moves it into place on commit.
+     *
+     * @param destination The file to write
+     * @return The staged writer
+     * @throws IOException If the temporary file cannot be created
+     */
+    public static StagedWriter toFile(Path destination) throws IOException {
+        Path target = destination.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        Writer writer;
+        try {
+            writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return new StagedWriter(writer) {
+            @Override
+            protected void publish() throws IOException {
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+
+            @Override
+            protected void discard() throws IOException {
+                Files.deleteIfExists(temp);
+            }
+        };
+    }
+
+    /**
+     * Creates a writer that holds its content in memory and hands it to
+     * a DataStorage on commit.
+     *
+     * @param storage The storage receiving the content
+     * @param destination Path to write data to
+     * @return The staged writer
+     */
+    public static StagedWriter toStorage(DataStorage storage, String destination) {
+        StringWriter content = new StringWriter();
+        return new StagedWriter(content) {
+            @Override
+            protected void publish() throws IOException {
+                storage.writeDataContent(destination, content.toString());
+            }
+
+            @Override
+            protected void discard() {
+                content.getBuffer().setLength(0);
+            }
+        };
+    }
+
+    /**
+     * Stores everything written so far at the destination and closes the
+     * writer.
+     *
+     * @throws IOException If the content cannot be stored
+     */
+    public void commit() throws IOException {
+        if (closed) {
+            throw new IOException("Writer already closed");
+        }
+        closed = true;
+        try {
+            staging.close();
+            publish();
+            committed = true;
+        } finally {
+            if (!committed) {
+                discard();
+            }
+        }
+    }
+
+    /**
+     * Moves the staged content to the destination.
+     *
+     * @throws IOException If it cannot be moved
+     */
+    protected abstract void publish() throws IOException;
+
+    /**
+     * Drops the staged content.
+     *
+     * @throws IOException If it cannot be dropped
+     */
+    protected abstract void discard() throws IOException;
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Writer already closed");
+        }
+        staging.write(buffer, offset, length);
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Writer already closed");
+        }
+        staging.write(text, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!closed) {
+            staging.flush();
+        }
+    }
+
+    /**
+     * Closes the writer, discarding the content unless it was committed.
+     *
+     * @throws IOException If the staged content cannot be dropped
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            staging.close();
+        } finally {
+            discard();
+        }
+    }
+}
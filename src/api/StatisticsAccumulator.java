@@ -0,0 +1,198 @@
+package api;
+
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Single-pass statistics over doubles: count, sum, average, minimum, maximum
+ * and variance. The sum uses Neumaier compensated summation and the variance
+ * uses Welford's update, so neither loses precision on long inputs.
+ * Accumulators built over separate chunks can be merged with combine, which
+ * also makes this usable as a DoubleStream collector.
+ */
+public final class StatisticsAccumulator implements DoubleConsumer {
+    private long count;
+    private double sum;
+    private double compensation;
+    // Plain sum, used to report infinities that the compensated sum turns into NaN
+    private double simpleSum;
+    private double mean;
+    // Sum of squared distances from the mean
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Builds the statistics of an array.
+     *
+     * @param values The values to summarize
+     * @return The statistics of the values
+     */
+    public static StatisticsAccumulator of(double... values) {
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        statistics.accept(values, 0, values.length);
+        return statistics;
+    }
+
+    /**
+     * Builds the statistics of a list, unboxing each element once.
+     *
+     * @param values The values to summarize
+     * @return The statistics of the values
+     */
+    public static StatisticsAccumulator of(List<Double> values) {
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        for (Double value : values) {
+            statistics.accept(value.doubleValue());
+        }
+        return statistics;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value to add
+     */
+    @Override
+    public void accept(double value) {
+        count++;
+        addToSum(value);
+        simpleSum += value;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds a range of an array.
+     *
+     * @param values The array holding the values
+     * @param from Index of the first value to add
+     * @param to Index after the last value to add
+     */
+    public void accept(double[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(values[i]);
+        }
+    }
+
+    /**
+     * Merges the statistics of another accumulator into this one.
+     *
+     * @param other The accumulator to merge
+     * @return This accumulator
+     */
+    public StatisticsAccumulator combine(StatisticsAccumulator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            sum = other.sum;
+            compensation = other.compensation;
+            simpleSum = other.simpleSum;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return this;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        addToSum(other.sum);
+        addToSum(other.compensation);
+        simpleSum += other.simpleSum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Gets the number of values added.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the compensated sum.
+     *
+     * @return The sum, or 0 if no values were added
+     */
+    public double getSum() {
+        double total = sum + compensation;
+        if (Double.isNaN(total) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the average.
+     *
+     * @return The average, or 0 if no values were added
+     */
+    public double getAverage() {
+        return count > 0 ? getSum() / count : 0;
+    }
+
+    /**
+     * Gets the smallest value.
+     *
+     * @return The minimum, or positive infinity if no values were added
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the largest value.
+     *
+     * @return The maximum, or negative infinity if no values were added
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the population variance.
+     *
+     * @return The variance, or 0 if no values were added
+     */
+    public double getVariance() {
+        return count > 0 ? m2 / count : 0;
+    }
+
+    /**
+     * Gets the sample variance, dividing by count - 1.
+     *
+     * @return The sample variance, or 0 if fewer than two values were added
+     */
+    public double getSampleVariance() {
+        return count > 1 ? m2 / (count - 1) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "StatisticsAccumulator{count=" + count + ", sum=" + getSum() + ", average=" + getAverage()
+                + ", min=" + min + ", max=" + max + ", variance=" + getVariance() + "}";
+    }
+
+    // Neumaier's variant of Kahan summation, which also handles a term larger than the running sum
+    private void addToSum(double value) {
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+    }
+}
@@ -1,5 +1,11 @@
 package api;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
 /**
  * Interface for data storage operations
  */
@@ -32,4 +38,62 @@ public interface StorageAPI {
      * @return StorageResponse containing parsed numbers
      */
     StorageResponse parseData(String data);
+
+    /**
+     * Parse raw string data into a StorageResponse, splitting numbers on
+     * the delimiters it was read with as well as whitespace and commas.
+     * Storages that only split on a fixed set of separators keep the
+     * default, which ignores the delimiters
+     * @param data The raw data to parse
+     * @param delimiters The delimiters passed to readData, may be null
+     * @return StorageResponse containing parsed numbers
+     */
+    default StorageResponse parseData(String data, String[] delimiters) {
+        return parseData(data);
+    }
+
+    /**
+     * Read every number from the specified source into an int array.
+     * Implementations that can parse the source directly override this to
+     * skip the intermediate String and list of boxed Integers.
+     * @param source The source to read from (e.g., file path)
+     * @param delimiters Delimiters separating the numbers, in addition to whitespace and commas
+     * @return The numbers in source order
+     */
+    default int[] readIntArray(String source, String[] delimiters) {
+        List<Integer> numbers = parseData(readData(source, delimiters), delimiters).getNumbers();
+        int[] array = new int[numbers.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = numbers.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Open the specified source as a stream of numbers. Implementations
+     * backed by files read them a buffer at a time, so the whole source is
+     * never held in memory.
+     * @param source The source to read from (e.g., file path)
+     * @param delimiters Delimiters separating the numbers, in addition to whitespace and commas
+     * @return Cursor over the numbers, to be closed by the caller
+     * @throws IOException If the source cannot be opened
+     */
+    default IntCursor readNumbers(String source, String[] delimiters) throws IOException {
+        String data = readData(source, delimiters);
+        byte[] bytes = data == null ? new byte[0] : data.getBytes(StandardCharsets.UTF_8);
+        return new IntCursor(new ByteArrayInputStream(bytes), delimiters);
+    }
+
+    /**
+     * Read every number from the specified source as consecutive chunks,
+     * parsed in parallel where the implementation supports it.
+     * @param source The source to read from (e.g., file path)
+     * @param delimiters Delimiters separating the numbers, in addition to whitespace and commas
+     * @param executor Runs the parsing tasks
+     * @param parallelism The largest number of chunks to parse at once
+     * @return Arrays holding the numbers of consecutive parts of the source, in order
+     */
+    default List<int[]> readIntChunks(String source, String[] delimiters, ExecutorService executor, int parallelism) {
+        return List.of(readIntArray(source, delimiters));
+    }
 }
@@ -0,0 +1,60 @@
+package api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Engine that runs trial division on SIMD lanes through the JDK Vector API.
+ * The Vector API is an incubator module, so it is only used when the JVM was
+ * started with --add-modules jdk.incubator.vector; otherwise every call falls
+ * back to the scalar loop of OptimizedComputationEngineImpl.
+ */
+public class VectorComputationEngineImpl extends OptimizedComputationEngineImpl {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final boolean VECTORIZED = vectorModuleAvailable();
+
+    /**
+     * Checks whether this JVM can run the vectorized kernel.
+     *
+     * @return True if jdk.incubator.vector is enabled
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    @Override
+    public List<Integer> findFactors(int number) {
+        int[] scratch = new int[MAX_FACTOR_COUNT];
+        int count = findFactorsInto(number, scratch);
+        List<Integer> factors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            factors.add(scratch[i]);
+        }
+        return factors;
+    }
+
+    @Override
+    public int findFactorsInto(int number, int[] scratch) {
+        if (!VECTORIZED) {
+            return super.findFactorsInto(number, scratch);
+        }
+        ComputationAPI.requireScratch(scratch);
+        int prime = getPrimalityFilter().writeIfPrime(number, scratch);
+        if (prime > 0) {
+            return prime;
+        }
+        return VectorDivisorKernel.findFactorsInto(number, scratch);
+    }
+
+    private static boolean vectorModuleAvailable() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return false;
+        }
+        try {
+            // Forces the kernel to link now rather than on the first call
+            return VectorDivisorKernel.lanes() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package api;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Trial division that tests a whole vector of candidate divisors at once.
+ * Only loaded by VectorComputationEngineImpl when jdk.incubator.vector is
+ * in the boot layer, since referencing it otherwise fails to link.
+ *
+ * Candidates live in double lanes, which hold every int exactly. For n and d
+ * below 2^31 a non-integer n / d is at least 1/d away from any integer, far
+ * more than the rounding error of one division, so d divides n exactly when
+ * the computed quotient is already an integer.
+ */
+final class VectorDivisorKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    // Adding and removing 2^52 rounds any quotient below 2^31 to the nearest integer
+    private static final double ROUNDING_BIAS = 0x1p52;
+
+    private VectorDivisorKernel() {
+    }
+
+    static int lanes() {
+        return LANES;
+    }
+
+    static int findFactorsInto(int number, int[] scratch) {
+        if (number < 1) {
+            return 0;
+        }
+        int small = 0;
+        int large = scratch.length;
+        int sqrt = (int) Math.sqrt(number);
+
+        DoubleVector target = DoubleVector.broadcast(SPECIES, number);
+        DoubleVector step = DoubleVector.broadcast(SPECIES, LANES);
+        DoubleVector candidates = DoubleVector.zero(SPECIES).addIndex(1).add(1);
+        for (int first = 1; first <= sqrt; first += LANES) {
+            DoubleVector quotient = target.div(candidates);
+            DoubleVector rounded = quotient.add(ROUNDING_BIAS).sub(ROUNDING_BIAS);
+            VectorMask<Double> divides = quotient.compare(VectorOperators.EQ, rounded);
+            if (divides.anyTrue()) {
+                long lanes = divides.toLong();
+                while (lanes != 0) {
+                    int i = first + Long.numberOfTrailingZeros(lanes);
+                    lanes &= lanes - 1;
+                    if (i > sqrt) {
+                        break;
+                    }
+                    scratch[small++] = i;
+                    if (i != number / i) {
+                        scratch[--large] = number / i;
+                    }
+                }
+            }
+            candidates = candidates.add(step);
+        }
+        int largeCount = scratch.length - large;
+        System.arraycopy(scratch, large, scratch, small, largeCount);
+        return small + largeCount;
+    }
+}
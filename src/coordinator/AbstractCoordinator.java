@@ -1,16 +1,19 @@
 package coordinator;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import api.ComputationAPI;
+import api.DelimiterSet;
+import api.FactorBatch;
+import api.FactorWriter;
+import api.IntCursor;
+import api.PrimeIndex;
 import api.StorageAPI;
-import api.StorageRequest;
-import api.StorageRequestImpl;
-import api.StorageResponse;
 
 
 /**
@@ -29,24 +32,40 @@ public abstract class AbstractCoordinator implements NetworkAPI {
     }
 
     /**
-     * Reads input from a file and returns a list of integers.
+     * Reads input from a file straight into an int array, letting the
+     * storage parse it without boxing every number.
      * 
      * @param inputPath Path to the input file
      * @param delimiter Character used to separate values in the input file
-     * @return List of integers read from the file
+     * @return The numbers read from the file
+     */
+    protected int[] readInputNumbers(String inputPath, char delimiter) {
+        try {
+            return dataStore.readIntArray(inputPath, new String[]{String.valueOf(delimiter)});
+        } catch (Exception e) {
+            e.printStackTrace();
+            return toIntArray(readInputFileDirectly(inputPath, delimiter));
+        }
+    }
+    
+    /**
+     * Reads input from a file as consecutive chunks of numbers, letting the
+     * storage parse parts of the file in parallel on the given executor.
+     * 
+     * @param inputPath Path to the input file
+     * @param delimiter Character used to separate values in the input file
+     * @param executor Runs the parsing tasks
+     * @param parallelism The largest number of chunks to parse at once
+     * @return The numbers read from the file, chunk by chunk in file order
      */
-    protected List<Integer> readInputFile(String inputPath, char delimiter) {
+    protected List<int[]> readInputChunks(String inputPath, char delimiter, ExecutorService executor, int parallelism) {
         try {
-            StorageRequest request = new StorageRequestImpl(inputPath, String.valueOf(delimiter));
-            String data = dataStore.readData(request.getSource(), request.getDelimiters());
-            
-            // Properly delegate parsing to the StorageAPI instead of doing it here
-            StorageResponse response = dataStore.parseData(data);
-            return response.getNumbers();
+            return dataStore.readIntChunks(inputPath, new String[]{String.valueOf(delimiter)}, executor, parallelism);
         } catch (Exception e) {
             e.printStackTrace();
-            // Fallback to direct file reading if the API fails
-            return readInputFileDirectly(inputPath, delimiter);
+            List<int[]> chunks = new ArrayList<>();
+            chunks.add(toIntArray(readInputFileDirectly(inputPath, delimiter)));
+            return chunks;
         }
     }
     
@@ -60,15 +79,11 @@ public abstract class AbstractCoordinator implements NetworkAPI {
     private List<Integer> readInputFileDirectly(String inputPath, char delimiter) {
 
         List<Integer> numbers = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(inputPath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] values = line.split(String.valueOf(delimiter));
-                for (String value : values) {
-                    if (!value.trim().isEmpty()) {
-                        numbers.add(Integer.parseInt(value.trim()));
-                    }
-                }
+        DelimiterSet delimiters = DelimiterSet.of(delimiter);
+        try (IntCursor cursor = new IntCursor(Files.newInputStream(Paths.get(inputPath)), delimiters,
+                IntCursor.DEFAULT_BUFFER_SIZE)) {
+            while (cursor.hasNext()) {
+                numbers.add(cursor.nextInt());
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -77,33 +92,78 @@ public abstract class AbstractCoordinator implements NetworkAPI {
     }
     
     /**
-     * Writes computation results to the output file.
+     * Finds the factors of a batch of numbers with the computation engine.
+     * Repeated inputs are only factored once.
+     * 
+     * @param numbers The numbers to factor
+     * @return The factors of each number, in input order
+     */
+    protected FactorBatch computeFactors(int[] numbers) {
+        return computationEngine.findFactorsBatch(numbers, true);
+    }
+    
+    /**
+     * Writes computation results to the output file, one line per input number.
+     * 
+     * @param outputPath Path where results should be written
+     * @param batches Batches of results to write, in order
+     */
+    protected void writeOutput(String outputPath, List<FactorBatch> batches) {
+        writeOutput(outputPath, batches, null);
+    }
+    
+    /**
+     * Writes computation results to the output file, one line per input number,
+     * and adds every number to an index from the factors being written.
      * 
      * @param outputPath Path where results should be written
-     * @param results List of results to write
+     * @param batches Batches of results to write, in order
+     * @param index Index receiving the numbers in output order, or null for none
+     * @return True if every result was written
      */
-    protected void writeOutput(String outputPath, List<String> results) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath))) {
-            for (String result : results) {
-                writer.write(result);
-                writer.newLine();
+    protected boolean writeOutput(String outputPath, List<FactorBatch> batches, PrimeIndex index) {
+        try (FactorWriter writer = new FactorWriter(new FileWriter(outputPath))) {
+            for (FactorBatch batch : batches) {
+                writeBatch(writer, batch, index);
             }
+            return true;
         } catch (Exception e) {
             e.printStackTrace();
+            return false;
         }
     }
     
     /**
-     * Processes a single number and returns the result.
-     * This demonstrates a computational task.
+     * Writes one batch of results, one line per input number.
      * 
-     * @param number The number to process
-     * @return The processed result as a string
+     * @param writer Writer of the output file
+     * @param batch The results to write
+     * @param index Index receiving the numbers in output order, or null for none
+     * @throws IOException If writing fails
      */
-    protected String processNumber(int number) {
-        // Simple example computation: square the number
-        // In a real implementation, this might be a more complex calculation
-        // or it might dispatch to another component
-        return "Result for " + number + ": " + (number * number);
+    protected void writeBatch(FactorWriter writer, FactorBatch batch, PrimeIndex index) throws IOException {
+        int[] factors = batch.getFactorData();
+        for (int i = 0; i < batch.size(); i++) {
+            writer.write("Factors of ").writeInt(batch.getNumber(i)).write(": ");
+            writer.writeFactors(factors, batch.getFactorOffset(i), batch.getFactorCount(i), " ");
+            writer.newLine();
+            if (index != null) {
+                index.add(batch.getNumber(i), factors, batch.getFactorOffset(i), batch.getFactorCount(i));
+            }
+        }
+    }
+    
+    /**
+     * Copies a list of numbers into an int array.
+     * 
+     * @param numbers The numbers to copy
+     * @return The numbers as an array
+     */
+    protected static int[] toIntArray(List<Integer> numbers) {
+        int[] array = new int[numbers.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = numbers.get(i);
+        }
+        return array;
     }
 }
@@ -1,10 +1,10 @@
 package coordinator;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
 
+import api.AdaptiveComputationEngine;
 import api.ComputationAPI;
-import api.ComputationEngineImpl;
+import api.FactorBatch;
 import api.FileDataStorage;
 import api.StorageAPI;
 
@@ -13,21 +13,23 @@ import api.StorageAPI;
  */
 public class Coordinator extends AbstractCoordinator {
     public Coordinator() {
-        super(new ComputationEngineImpl(), new FileDataStorage());
+        // Every default coordinator shares one engine, sieved and calibrated once
+        this(AdaptiveComputationEngine.shared(), new FileDataStorage());
+    }
+    
+    public Coordinator(ComputationAPI computationEngine, StorageAPI dataStore) {
+        super(computationEngine, dataStore);
     }
     
     @Override
     public void startComputation(String inputPath, String outputPath, char delimiter) {
         // Read input
-        List<Integer> numbers = readInputFile(inputPath, delimiter);
+        int[] numbers = readInputNumbers(inputPath, delimiter);
         
-        // Process each number sequentially
-        List<String> results = new ArrayList<>();
-        for (int number : numbers) {
-            results.add(processNumber(number));
-        }
+        // Process all numbers as a single batch
+        FactorBatch results = computeFactors(numbers);
         
         // Write output
-        writeOutput(outputPath, results);
+        writeOutput(outputPath, Collections.singletonList(results));
     }
 }
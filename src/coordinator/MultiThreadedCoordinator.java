@@ -1,10 +1,26 @@
 package coordinator;
 
+import api.AdaptiveComputationEngine;
+import api.BigFactorization;
 import api.ComputationAPI;
-import api.ComputationEngineImpl;
+import api.FactorBatch;
+import api.FactorBudget;
+import api.FactorWriter;
 import api.FileDataStorage;
+import api.IntCursor;
+import api.PrimeIndex;
 import api.StorageAPI;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -15,40 +31,182 @@ import java.util.concurrent.Future;
 // Uses a thread pool to process computation tasks in parallel.
 
 public class MultiThreadedCoordinator extends AbstractCoordinator {
+    // Inputs of at least this many bytes are streamed instead of read whole
+    public static final long DEFAULT_STREAMING_THRESHOLD = 64L << 20;
+    // Numbers per task when streaming
+    static final int STREAM_BLOCK_SIZE = 1 << 16;
+
     private final ExecutorService executorService;
+    private final int threadCount;
+    private final long streamingThreshold;
 
     public MultiThreadedCoordinator() {
-        super(new ComputationEngineImpl(), new FileDataStorage());
-        this.executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        // Every default coordinator shares one engine, sieved and calibrated once
+        this(AdaptiveComputationEngine.shared(), new FileDataStorage());
+    }
+
+    public MultiThreadedCoordinator(ComputationAPI computationEngine, StorageAPI dataStore) {
+        this(computationEngine, dataStore, Runtime.getRuntime().availableProcessors());
+    }
+
+    public MultiThreadedCoordinator(ComputationAPI computationEngine, StorageAPI dataStore, int threadCount) {
+        this(computationEngine, dataStore, threadCount, DEFAULT_STREAMING_THRESHOLD);
+    }
+
+    /**
+     * Creates a coordinator that streams inputs of at least the given size
+     * through a fixed number of in-flight blocks, so its heap use does not
+     * grow with the input. Smaller inputs are parsed whole, in parallel.
+     *
+     * @param computationEngine Engine that factors the numbers
+     * @param dataStore Storage the input is read from
+     * @param threadCount Number of worker threads
+     * @param streamingThreshold Input size in bytes from which input is streamed; 0 streams everything
+     */
+    public MultiThreadedCoordinator(ComputationAPI computationEngine, StorageAPI dataStore, int threadCount,
+            long streamingThreshold) {
+        super(computationEngine, dataStore);
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        if (streamingThreshold < 0) {
+            throw new IllegalArgumentException("Streaming threshold cannot be negative");
+        }
+        this.threadCount = threadCount;
+        this.streamingThreshold = streamingThreshold;
+        this.executorService = Executors.newFixedThreadPool(threadCount);
     }
 
     @Override
     public void startComputation(String inputPath, String outputPath, char delimiter) {
+        compute(inputPath, outputPath, delimiter, null);
+    }
+
+    /**
+     * Runs a computation like startComputation and also builds an index from
+     * prime powers to the positions of the inputs they divide, filled in while
+     * the results are written.
+     *
+     * @param inputPath Path to the input file
+     * @param outputPath Path where results should be written
+     * @param delimiter Character used to separate values in the input file
+     * @return The index of the job's inputs, or null if the computation failed
+     */
+    public PrimeIndex startIndexedComputation(String inputPath, String outputPath, char delimiter) {
+        PrimeIndex index = new PrimeIndex();
+        return compute(inputPath, outputPath, delimiter, index) ? index : null;
+    }
+
+    private boolean compute(String inputPath, String outputPath, char delimiter, PrimeIndex index) {
+        if (isStreamed(inputPath)) {
+            return computeStreaming(inputPath, outputPath, delimiter, index);
+        }
         try {
-            // Read input
-            List<Integer> numbers = readInputFile(inputPath, delimiter);
+            // Read input, parsing parts of the file in parallel
+            List<int[]> chunks = readInputChunks(inputPath, delimiter, executorService, threadCount);
+            long total = 0;
+            for (int[] chunk : chunks) {
+                total += chunk.length;
+            }
 
-            // Create tasks for processing each number
-            List<Callable<String>> tasks = new ArrayList<>();
-            for (int number : numbers) {
-                tasks.add(() -> processNumber(number));
+            // Create about one batch task per thread. Parsed chunks are already
+            // contiguous slices of the input and are used as they are; only a
+            // chunk much larger than a thread's share is cut up
+            List<Callable<FactorBatch>> tasks = new ArrayList<>();
+            long share = Math.max(1, (total + threadCount - 1) / threadCount);
+            for (int[] numbers : chunks) {
+                int pieces = (int) Math.max(1, Math.round((double) numbers.length / share));
+                if (pieces == 1) {
+                    if (numbers.length > 0) {
+                        tasks.add(() -> computeFactors(numbers));
+                    }
+                    continue;
+                }
+                int chunkSize = (numbers.length + pieces - 1) / pieces;
+                for (int start = 0; start < numbers.length; start += chunkSize) {
+                    int[] chunk = Arrays.copyOfRange(numbers, start, Math.min(numbers.length, start + chunkSize));
+                    tasks.add(() -> computeFactors(chunk));
+                }
             }
 
             // Execute tasks in parallel
-            List<Future<String>> futures = executorService.invokeAll(tasks);
+            List<Future<FactorBatch>> futures = executorService.invokeAll(tasks);
 
-            // Collect results
-            List<String> results = new ArrayList<>();
-            for (Future<String> future : futures) {
+            // Collect results in input order
+            List<FactorBatch> results = new ArrayList<>();
+            for (Future<FactorBatch> future : futures) {
                 results.add(future.get());
             }
 
             // Write output
-            writeOutput(outputPath, results);
+            return writeOutput(outputPath, results, index);
 
         } catch (Exception e) {
             e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Sources that are not local files cannot be sized and are always streamed
+    private boolean isStreamed(String inputPath) {
+        try {
+            return Files.size(Paths.get(inputPath)) >= streamingThreshold;
+        } catch (IOException | InvalidPathException e) {
+            return true;
+        }
+    }
+
+    // Reads the input a block at a time and writes each block's results as
+    // soon as it is done, in input order. At most two blocks per thread are
+    // in flight, which bounds memory whatever the input size
+    private boolean computeStreaming(String inputPath, String outputPath, char delimiter, PrimeIndex index) {
+        Deque<Future<FactorBatch>> pending = new ArrayDeque<>();
+        try (IntCursor numbers = dataStore.readNumbers(inputPath, new String[]{String.valueOf(delimiter)});
+                FactorWriter writer = new FactorWriter(new FileWriter(outputPath))) {
+            while (true) {
+                int[] block = new int[STREAM_BLOCK_SIZE];
+                int count = numbers.read(block);
+                if (count < 0) {
+                    break;
+                }
+                int[] chunk = count == block.length ? block : Arrays.copyOf(block, count);
+                pending.add(executorService.submit(() -> computeFactors(chunk)));
+                if (pending.size() > 2 * threadCount) {
+                    writeBatch(writer, pending.poll().get(), index);
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeBatch(writer, pending.poll().get(), index);
+            }
+            return true;
+        } catch (Exception e) {
+            pending.forEach(future -> future.cancel(true));
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Factors a number of any size on the coordinator's pool. The budget starts
+     * when a thread picks the task up, and cancelling the returned future
+     * interrupts the factorization, so the thread is always handed back to
+     * other jobs once the budget is spent.
+     *
+     * @param number The number to factor, must be positive
+     * @param budget How long the factorization may run
+     * @return The prime factors found and the unfactored cofactor
+     */
+    public Future<BigFactorization> factorizeBig(BigInteger number, Duration budget) {
+        if (number == null || number.signum() <= 0) {
+            throw new IllegalArgumentException("Only positive numbers have a prime factorization: " + number);
+        }
+        if (budget == null || budget.isNegative()) {
+            throw new IllegalArgumentException("Budget must be zero or positive");
         }
+        return executorService.submit(() -> computationEngine.factorizeBig(number, FactorBudget.of(budget)));
     }
 
     // Shuts down the executor
@@ -0,0 +1,64 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveComputationEngineTest {
+
+    @Test
+    void testCalibrationIsCachedAndReported() throws IOException {
+        Path cache = File.createTempFile("calibration", ".properties").toPath();
+        Files.delete(cache);
+        cache.toFile().deleteOnExit();
+
+        AdaptiveComputationEngine measured = new AdaptiveComputationEngine(cache, 10_000);
+        assertTrue(Files.exists(cache));
+        assertTrue(measured.getDiagnostics().startsWith("Calibration: measured"));
+
+        AdaptiveComputationEngine loaded = new AdaptiveComputationEngine(cache, 10_000);
+        assertTrue(loaded.getDiagnostics().startsWith("Calibration: loaded from " + cache));
+        for (int bits = 1; bits < 31; bits++) {
+            assertEquals(measured.getStrategy(1 << bits), loaded.getStrategy(1 << bits));
+        }
+        String diagnostics = loaded.getDiagnostics();
+        assertTrue(diagnostics.contains("[1, "));
+        assertTrue(diagnostics.contains(", 2147483647]: "));
+
+        // A different sieve bound invalidates the cached calibration
+        AdaptiveComputationEngine other = new AdaptiveComputationEngine(cache, 20_000);
+        assertFalse(other.getDiagnostics().startsWith("Calibration: loaded"));
+    }
+
+    @Test
+    void testEveryStrategyGivesSameFactors() {
+        AdaptiveComputationEngine engine = new AdaptiveComputationEngine(null, 10_000);
+        ComputationAPI reference = new OptimizedComputationEngineImpl();
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            int number = random.nextInt(Integer.MAX_VALUE >> random.nextInt(31)) - 3;
+            assertNotNull(engine.getStrategy(number));
+            assertEquals(reference.findFactors(number), engine.findFactors(number), "Factors differ for " + number);
+            if (number > 0) {
+                assertEquals(reference.query(number, FactorQuery.DIVISOR_SUM),
+                        engine.query(number, FactorQuery.DIVISOR_SUM), "Divisor sum differs for " + number);
+            }
+        }
+    }
+
+    @Test
+    void testSharedEngineIsCreatedOnce() {
+        AdaptiveComputationEngine shared = AdaptiveComputationEngine.shared();
+        assertSame(shared, AdaptiveComputationEngine.shared());
+        assertEquals(new OptimizedComputationEngineImpl().findFactors(720720), shared.findFactors(720720));
+    }
+}
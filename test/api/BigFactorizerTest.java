@@ -0,0 +1,103 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import coordinator.MultiThreadedCoordinator;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class BigFactorizerTest {
+    // Two primes just above 2^63, whose product rho cannot split in any reasonable time
+    private static final BigInteger P = BigInteger.ONE.shiftLeft(63).nextProbablePrime();
+    private static final BigInteger Q = P.add(BigInteger.ONE).nextProbablePrime();
+
+    @Test
+    void testFactorsCompletely() {
+        BigInteger p1 = BigInteger.valueOf(1_000_000_007);
+        BigInteger p2 = BigInteger.valueOf(998_244_353);
+        BigInteger p3 = BigInteger.ONE.shiftLeft(40).nextProbablePrime();
+        BigInteger number = BigInteger.valueOf(2 * 2 * 3 * 65_537).multiply(p1).multiply(p2).multiply(p3).multiply(p3);
+
+        BigFactorization factorization = BigFactorizer.factorize(number, FactorBudget.unlimited());
+        assertTrue(factorization.isComplete());
+        assertEquals(List.of(BigInteger.TWO, BigInteger.TWO, BigInteger.valueOf(3), BigInteger.valueOf(65_537), p2, p1, p3, p3),
+                factorization.getPrimes());
+        assertEquals(BigInteger.ONE, factorization.getCofactor());
+        assertEquals(number, product(factorization));
+
+        // A 128-bit prime needs no splitting at all
+        BigInteger prime = BigInteger.ONE.shiftLeft(127).nextProbablePrime();
+        assertEquals(List.of(prime), BigFactorizer.factorize(prime, FactorBudget.unlimited()).getPrimes());
+        assertTrue(BigFactorizer.factorize(BigInteger.ONE, FactorBudget.unlimited()).getPrimes().isEmpty());
+    }
+
+    @Test
+    void testReturnsPartialResultWhenBudgetRunsOut() {
+        BigInteger number = BigInteger.valueOf(12).multiply(P).multiply(Q);
+        long start = System.nanoTime();
+        BigFactorization factorization = BigFactorizer.factorize(number, FactorBudget.of(Duration.ofMillis(100)));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(factorization.isComplete());
+        assertEquals(List.of(BigInteger.TWO, BigInteger.TWO, BigInteger.valueOf(3)), factorization.getPrimes());
+        assertEquals(P.multiply(Q), factorization.getCofactor());
+        assertEquals(number, product(factorization));
+        assertTrue(elapsed < 2000, "Took " + elapsed + " ms on a 100 ms budget");
+    }
+
+    @Test
+    void testStopsWhenCancelled() throws Exception {
+        FactorBudget budget = FactorBudget.unlimited();
+        BigFactorization[] result = new BigFactorization[1];
+        Thread worker = new Thread(() -> result[0] = BigFactorizer.factorize(P.multiply(Q), budget));
+        worker.start();
+        Thread.sleep(50);
+        budget.cancel();
+        worker.join(5000);
+
+        assertFalse(worker.isAlive());
+        assertTrue(budget.isCancelled());
+        assertEquals(P.multiply(Q), result[0].getCofactor());
+    }
+
+    @Test
+    void testCoordinatorFutureCanBeCancelled() throws Exception {
+        MultiThreadedCoordinator coordinator = new MultiThreadedCoordinator(new OptimizedComputationEngineImpl(), null, 1);
+        try {
+            Future<BigFactorization> hard = coordinator.factorizeBig(P.multiply(Q), Duration.ofHours(1));
+            Thread.sleep(50);
+            hard.cancel(true);
+
+            // The only pool thread is free again for the next job
+            Future<BigFactorization> easy = coordinator.factorizeBig(BigInteger.valueOf(360), Duration.ofSeconds(10));
+            assertEquals("2 * 2 * 2 * 3 * 3 * 5", easy.get(5, TimeUnit.SECONDS).toString());
+
+            Future<BigFactorization> limited = coordinator.factorizeBig(P.multiply(Q), Duration.ofMillis(50));
+            assertEquals("[" + P.multiply(Q) + "]", limited.get(5, TimeUnit.SECONDS).toString());
+        } finally {
+            coordinator.shutdown();
+        }
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BigFactorizer.factorize(BigInteger.ZERO, FactorBudget.unlimited()));
+        assertThrows(IllegalArgumentException.class, () -> BigFactorizer.factorize(BigInteger.TEN, null));
+        assertThrows(IllegalArgumentException.class, () -> FactorBudget.of(Duration.ofMillis(-1)));
+    }
+
+    private static BigInteger product(BigFactorization factorization) {
+        BigInteger product = factorization.getCofactor();
+        for (BigInteger prime : factorization.getPrimes()) {
+            product = product.multiply(prime);
+        }
+        return product;
+    }
+}
@@ -0,0 +1,88 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class CachingComputationEngineTest {
+
+    @Test
+    void testHitsAndMisses() {
+        CachingComputationEngine engine = new CachingComputationEngine(new OptimizedComputationEngineImpl(), 100);
+
+        assertEquals(List.of(1, 2, 3, 4, 6, 12), engine.findFactors(12));
+        assertEquals(List.of(1, 2, 3, 4, 6, 12), engine.findFactors(12));
+        assertEquals(List.of(1, 2, 3, 4, 6, 12), engine.compute(" 12 ", new String[]{","}).getFactors());
+
+        assertEquals(1, engine.getMissCount());
+        assertEquals(2, engine.getHitCount());
+        assertEquals(1, engine.size());
+        assertFalse(engine.compute("abc", new String[]{","}).isSuccess());
+    }
+
+    @Test
+    void testSizeIsBoundedAndHotEntriesSurvive() {
+        CachingComputationEngine engine = new CachingComputationEngine(new OptimizedComputationEngineImpl(), 64, 1);
+        for (int round = 0; round < 5; round++) {
+            for (int hot = 1; hot <= 32; hot++) {
+                engine.findFactors(hot);
+            }
+        }
+        // A scan of one-off numbers must not flush out the frequently used ones
+        for (int cold = 1000; cold < 1300; cold++) {
+            engine.findFactors(cold);
+        }
+        assertTrue(engine.size() <= 64);
+        assertTrue(engine.getRejectionCount() > 0);
+
+        long hitsBefore = engine.getHitCount();
+        for (int hot = 1; hot <= 32; hot++) {
+            engine.findFactors(hot);
+        }
+        assertEquals(hitsBefore + 32, engine.getHitCount());
+    }
+
+    @Test
+    void testConcurrentLookupsMatchDelegate() throws Exception {
+        OptimizedComputationEngineImpl reference = new OptimizedComputationEngineImpl();
+        CachingComputationEngine engine = new CachingComputationEngine(reference, 500);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+                    for (int i = 0; i < 5000; i++) {
+                        int number = random.nextInt(2000) - 10;
+                        int count = engine.findFactorsInto(number, scratch);
+                        List<Integer> actual = new ArrayList<>();
+                        for (int k = 0; k < count; k++) {
+                            actual.add(scratch[k]);
+                        }
+                        if (!actual.equals(reference.findFactors(number))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(40000, engine.getHitCount() + engine.getMissCount());
+        assertTrue(engine.size() <= 500);
+    }
+}
@@ -0,0 +1,113 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class CoalescingComputationEngineTest {
+
+    // Blocks every factorization until released, so concurrent callers are sure to overlap
+    private static class BlockingEngine extends OptimizedComputationEngineImpl {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean fail;
+
+        @Override
+        public int findFactorsInto(int number, int[] scratch) {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (fail) {
+                throw new IllegalStateException("engine failure");
+            }
+            return super.findFactorsInto(number, scratch);
+        }
+    }
+
+    @Test
+    void testConcurrentCallersShareOneComputation() throws Exception {
+        BlockingEngine delegate = new BlockingEngine();
+        CoalescingComputationEngine engine = new CoalescingComputationEngine(delegate);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> engine.findFactors(360)));
+            assertTrue(delegate.started.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> engine.findFactors(360)));
+            }
+            while (engine.getCoalescedCount() < 3) {
+                Thread.sleep(1);
+            }
+            delegate.release.countDown();
+
+            List<Integer> expected = new OptimizedComputationEngineImpl().findFactors(360);
+            for (Future<List<Integer>> future : futures) {
+                assertEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, delegate.calls.get());
+        assertEquals(1, engine.getComputedCount());
+        assertEquals(3, engine.getCoalescedCount());
+        assertEquals(0, engine.getInFlightCount());
+
+        // Once finished nothing is retained, so a later call computes again
+        engine.findFactors(360);
+        assertEquals(2, engine.getComputedCount());
+    }
+
+    @Test
+    void testFailureReachesWaitingCallers() throws Exception {
+        BlockingEngine delegate = new BlockingEngine();
+        delegate.fail = true;
+        CoalescingComputationEngine engine = new CoalescingComputationEngine(delegate);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Integer>> leader = executor.submit(() -> engine.findFactors(77));
+            assertTrue(delegate.started.await(10, TimeUnit.SECONDS));
+            Future<List<Integer>> follower = executor.submit(() -> engine.findFactors(77));
+            while (engine.getCoalescedCount() < 1) {
+                Thread.sleep(1);
+            }
+            delegate.release.countDown();
+
+            for (Future<List<Integer>> future : List.of(leader, follower)) {
+                Exception e = assertThrows(Exception.class, future::get);
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, engine.getInFlightCount());
+    }
+
+    @Test
+    void testBatchesGoStraightToTheDelegate() {
+        ComputationAPI delegate = new SieveComputationEngineImpl();
+        CoalescingComputationEngine engine = new CoalescingComputationEngine(delegate);
+        int[] numbers = {12, 7, 12, 1, 97};
+        FactorBatch batch = engine.findFactorsBatch(numbers, true);
+        FactorBatch expected = delegate.findFactorsBatch(numbers, true);
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(expected.getFactorCount(i), batch.getFactorCount(i));
+        }
+        assertEquals(0, engine.getComputedCount());
+    }
+}
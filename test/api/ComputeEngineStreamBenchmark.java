@@ -0,0 +1,82 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Throughput of the ComputeEngineAPI batch mode on a multi-million-line
+ * file, running the same engine and thread count as the --batch command
+ * line and writing to a file channel.
+ */
+public class ComputeEngineStreamBenchmark {
+
+    // Number of lines in the generated input
+    private static final int DEFAULT_TEST_DATA_SIZE = 10_000_000;
+    // Inputs are drawn below this bound
+    private static final int DEFAULT_MAX_VALUE = 1_000_000;
+
+    private static int TEST_DATA_SIZE;
+    private static int MAX_VALUE;
+
+    @BeforeAll
+    public static void setupParameters() {
+        // Load configuration from system properties or use defaults
+        TEST_DATA_SIZE = Integer.getInteger("benchmark.datasize", DEFAULT_TEST_DATA_SIZE);
+        MAX_VALUE = Integer.getInteger("benchmark.maxvalue", DEFAULT_MAX_VALUE);
+
+        System.out.println("Benchmark configuration:");
+        System.out.println("- Test data size: " + TEST_DATA_SIZE);
+        System.out.println("- Max value: " + MAX_VALUE);
+        System.out.println("- Threads: " + Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Tag("slow")
+    @EnabledIfSystemProperty(named = "run.benchmark", matches = "true")
+    public void benchmarkBatchMode() throws IOException {
+        File input = File.createTempFile("batch-input", ".txt");
+        File output = File.createTempFile("batch-output", ".txt");
+        input.deleteOnExit();
+        output.deleteOnExit();
+        Random random = new Random(42); // Fixed seed for reproducibility
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(input), 1 << 16)) {
+            for (int i = 0; i < TEST_DATA_SIZE; i++) {
+                out.write(Integer.toString(1 + random.nextInt(MAX_VALUE)).getBytes());
+                out.write('\n');
+            }
+        }
+
+        // Timed like runBatch, so engine setup and any calibration are included
+        long start = System.nanoTime();
+        long count;
+        try (InputStream in = new FileInputStream(input);
+                FileChannel channel = FileChannel.open(output.toPath(), StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            count = ComputeEngineAPI.factorBatch(new AsciiIntParser(in), channel);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals(TEST_DATA_SIZE, count);
+
+        System.out.println("========== BENCHMARK RESULTS ==========");
+        System.out.println("Lines: " + count);
+        System.out.println("Time: " + seconds + " s");
+        System.out.println("Throughput: " + (long) (count / seconds) + " numbers/s");
+        System.out.println("Input: " + input.length() / (1 << 20) + " MB, output: " + output.length() / (1 << 20) + " MB");
+        System.out.println("=======================================");
+    }
+}
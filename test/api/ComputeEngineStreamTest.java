@@ -0,0 +1,92 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ComputeEngineStreamTest {
+
+    @Test
+    void testParserHandlesSeparatorsAndBufferBoundaries() throws IOException {
+        byte[] input = "12 -7,\r\n+3\t\t2147483647\n-2147483648,,0\n".getBytes(StandardCharsets.US_ASCII);
+        // A one-byte buffer splits every number across reads
+        for (int bufferSize : new int[]{1, 3, 64}) {
+            AsciiIntParser parser = new AsciiIntParser(new ByteArrayInputStream(input), bufferSize);
+            int[] target = new int[4];
+            assertEquals(4, parser.read(target));
+            assertArrayEquals(new int[]{12, -7, 3, Integer.MAX_VALUE}, target);
+            assertEquals(2, parser.read(target));
+            assertEquals(Integer.MIN_VALUE, target[0]);
+            assertEquals(0, target[1]);
+            assertEquals(-1, parser.read(target));
+            assertEquals(6, parser.getParsedCount());
+        }
+    }
+
+    @Test
+    void testParserSkipsAndCountsInvalidNumbers() throws IOException {
+        for (String input : new String[]{"1 2x", "2147483648", "-2147483649", "99999999999999999999", "5 - 6"}) {
+            AsciiIntParser parser = new AsciiIntParser(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)));
+            int[] target = new int[8];
+            int read = Math.max(0, parser.read(target));
+            assertEquals(1, parser.getSkippedCount(), input);
+            assertArrayEquals(DelimiterSet.DEFAULT.parse(input), Arrays.copyOf(target, read), input);
+        }
+    }
+
+    @Test
+    void testStreamSkipsBadTokensAndCountsThem() throws IOException {
+        AsciiIntParser parser = new AsciiIntParser(new ByteArrayInputStream("6 x7 10 99999999999 -\n15".getBytes(StandardCharsets.US_ASCII)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long count = ComputeEngineAPI.streamFactors(parser, Channels.newChannel(output), new SieveComputationEngineImpl(), 2);
+
+        assertEquals(3, count);
+        assertEquals(3, parser.getSkippedCount());
+        assertEquals("Factors of 6: 1 2 3 6\nFactors of 10: 1 2 5 10\nFactors of 15: 1 3 5 15\n",
+                output.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testStreamKeepsInputOrder() throws IOException {
+        // Several chunks per thread, so chunks finish out of order
+        int size = ComputeEngineAPI.BATCH_CHUNK_SIZE * 7 + 123;
+        Random random = new Random(9);
+        int[] numbers = new int[size];
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            numbers[i] = random.nextInt(2_000_000) - 10;
+            input.append(numbers[i]).append('\n');
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ComputationAPI engine = new SieveComputationEngineImpl();
+        long count = ComputeEngineAPI.streamFactors(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.US_ASCII)),
+                Channels.newChannel(output), engine, 3);
+
+        assertEquals(size, count);
+        String[] lines = output.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(size, lines.length);
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        for (int i = 0; i < size; i += 97) {
+            int factorCount = engine.findFactorsInto(numbers[i], scratch);
+            StringBuilder expected = new StringBuilder("Factors of ").append(numbers[i]).append(':');
+            for (int factor : Arrays.copyOf(scratch, factorCount)) {
+                expected.append(' ').append(factor);
+            }
+            assertEquals(expected.toString(), lines[i]);
+        }
+    }
+
+    @Test
+    void testInteractiveFactorsDoNotOverflow() {
+        assertEquals(Integer.MAX_VALUE, ComputeEngineAPI.calculateSquare(46_341));
+        assertEquals(25, ComputeEngineAPI.calculateSquare(5));
+    }
+}
@@ -0,0 +1,152 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class DelimiterSetTest {
+
+    @Test
+    void testSetsAreCompiledOnceAndShared() {
+        assertSame(DelimiterSet.DEFAULT, DelimiterSet.of((String[]) null));
+        // Whitespace and commas are always separators, so they add nothing
+        assertSame(DelimiterSet.DEFAULT, DelimiterSet.of(",", " \t", null));
+        assertSame(DelimiterSet.of(";|"), DelimiterSet.of("|", ";", ";"));
+        assertSame(DelimiterSet.of(';'), DelimiterSet.of(";"));
+
+        DelimiterSet set = DelimiterSet.of(";", "\u00e9");
+        assertTrue(set.isSeparator((byte) ';'));
+        assertTrue(set.isSeparator((byte) '\n'));
+        assertTrue(set.isSeparator((byte) ','));
+        assertFalse(set.isSeparator((byte) '|'));
+        assertFalse(set.isSeparator((byte) 0xE9));
+    }
+
+    @Test
+    void testParseMatchesMappedParser() throws IOException {
+        Random random = new Random(31);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3_000; i++) {
+            text.append(i % 40 == 0 ? "7z" : Integer.toString(random.nextInt()));
+            text.append(i % 5 == 0 ? "\n" : i % 2 == 0 ? ";" : " , ");
+        }
+        text.append("+12 - 0000000000000000000099 2147483648 -2147483648");
+        Path file = tempFile(text.toString());
+
+        DelimiterSet set = DelimiterSet.of(";");
+        int[] expected = new MappedIntParser(set, MappedIntParser.DEFAULT_WINDOW_SIZE).parse(file);
+        assertArrayEquals(expected, set.parse(text.toString()));
+        byte[] bytes = Files.readAllBytes(file);
+        assertArrayEquals(expected, set.parse(bytes, 0, bytes.length));
+        assertArrayEquals(new int[]{5}, DelimiterSet.DEFAULT.parse("x 5 6\u0101"));
+        assertArrayEquals(new int[0], DelimiterSet.DEFAULT.parse(null));
+    }
+
+    @Test
+    void testStreamingParsersSplitLikeTheSet() throws IOException {
+        String text = "1,2\t3;4 5\u00a06";
+        NumberTokenizer tokens = new NumberTokenizer(new StringReader(text), new String[]{";"});
+        List<String> streamed = new ArrayList<>();
+        while (tokens.next()) {
+            streamed.add(tokens.isValid() ? Integer.toString(tokens.value()) : tokens.token());
+        }
+        // Non-ASCII whitespace is not a separator for any parser
+        assertEquals(List.of("1", "2", "3", "4", "5\u00a06"), streamed);
+        assertArrayEquals(new int[]{1, 2, 3, 4}, DelimiterSet.of(";").parse(text));
+
+        int[] batch = new int[4];
+        try (AsciiIntParser parser = new AsciiIntParser(new ByteArrayInputStream("7,8\t9\n10".getBytes(StandardCharsets.US_ASCII)))) {
+            assertEquals(4, parser.read(batch));
+        }
+        assertArrayEquals(DelimiterSet.DEFAULT.parse("7,8\t9\n10"), batch);
+    }
+
+    @Test
+    void testEveryParserAgreesOnWhatIsANumber() throws IOException {
+        String[] tokens = {"0", "-0", "+0", "007", "-", "+", "+-1", "1-", "1x", "x1",
+                "2147483647", "2147483648", "-2147483648", "-2147483649", "00000000000000000000000042",
+                "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+                "9999999999999999999", "10000000000000000000", "18446744073709551616", "92233720368547758080"};
+        List<Integer> ints = new ArrayList<>();
+        List<Long> longs = new ArrayList<>();
+        for (String token : tokens) {
+            try {
+                long value = Long.parseLong(token);
+                if (value == (int) value) {
+                    ints.add((int) value);
+                } else {
+                    longs.add(value);
+                }
+            } catch (NumberFormatException e) {
+                // Neither an int nor a long
+            }
+        }
+        int[] expected = ints.stream().mapToInt(Integer::intValue).toArray();
+        String text = String.join(" ", tokens);
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+
+        assertArrayEquals(expected, DelimiterSet.DEFAULT.parse(text));
+        // A one-byte buffer carries every token across refills
+        try (IntCursor cursor = new IntCursor(new ByteArrayInputStream(bytes), DelimiterSet.DEFAULT, 1)) {
+            int[] read = new int[tokens.length];
+            assertEquals(expected.length, cursor.read(read));
+            assertArrayEquals(expected, Arrays.copyOf(read, expected.length));
+            assertEquals(tokens.length - expected.length, cursor.getSkippedCount());
+        }
+        try (AsciiIntParser parser = new AsciiIntParser(new ByteArrayInputStream(bytes))) {
+            int[] read = new int[tokens.length];
+            assertEquals(expected.length, parser.read(read));
+            assertEquals(tokens.length - expected.length, parser.getSkippedCount());
+        }
+        NumberTokenizer tokenizer = new NumberTokenizer(new StringReader(text), null);
+        List<Integer> tokenizedInts = new ArrayList<>();
+        List<Long> tokenizedLongs = new ArrayList<>();
+        while (tokenizer.next()) {
+            if (tokenizer.isValid()) {
+                tokenizedInts.add(tokenizer.value());
+            } else if (tokenizer.isLong()) {
+                tokenizedLongs.add(tokenizer.longValue());
+            }
+        }
+        assertEquals(ints, tokenizedInts);
+        assertEquals(longs, tokenizedLongs);
+    }
+
+    @Test
+    void testStoragesParseWithTheDelimitersTheyAreGiven() throws IOException {
+        Path file = tempFile("1;2;3\n4,5 x;6");
+        for (StorageAPI storage : List.of(new FileDataStorage(), new OptimizedFileDataStorage(new FileContentCache()))) {
+            String[] semicolon = {";"};
+            String data = storage.readData(file.toString(), semicolon);
+            assertEquals(List.of(1, 2, 3, 4, 5, 6), storage.parseData(data, semicolon).getNumbers());
+            // Without the delimiter "1;2;3" and "x;6" are single invalid tokens
+            assertEquals(List.of(4, 5), storage.parseData(data).getNumbers());
+            // Another read does not change how earlier data is parsed
+            storage.readData(file.toString(), new String[0]);
+            assertEquals(List.of(1, 2, 3, 4, 5, 6), storage.parseData(data, semicolon).getNumbers());
+            assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6}, storage.readIntArray(file.toString(), semicolon));
+        }
+    }
+
+    private static Path tempFile(String content) throws IOException {
+        File file = File.createTempFile("delimited-input", ".txt");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), content);
+        return file.toPath();
+    }
+}
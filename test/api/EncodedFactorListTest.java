@@ -0,0 +1,122 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class EncodedFactorListTest {
+    private static final ComputationAPI ENGINE = new SieveComputationEngineImpl();
+
+    @Test
+    void testDivisorListsRoundTrip() {
+        ComputationAPI engine = new SieveComputationEngineImpl();
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int[] decoded = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        EncodedFactorList.Cursor cursor = new EncodedFactorList.Cursor();
+        Random random = new Random(5);
+        for (int i = 0; i < 20_000; i++) {
+            int number = i < 10_000 ? i : 1 + random.nextInt(Integer.MAX_VALUE);
+            int count = engine.findFactorsInto(number, scratch);
+            EncodedFactorList list = EncodedFactorList.encode(scratch, count);
+
+            assertEquals(count, list.size());
+            assertEquals(count, list.decodeInto(decoded));
+            assertArrayEquals(Arrays.copyOf(scratch, count), Arrays.copyOf(decoded, count), "Decoding differs for " + number);
+            cursor.reset(list);
+            for (int k = 0; k < count; k++) {
+                assertEquals(scratch[k], cursor.nextInt());
+            }
+            assertFalse(cursor.hasNext());
+            assertEquals(list, EncodedFactorList.wrap(list.getEncoded().clone()));
+        }
+    }
+
+    @Test
+    void testPlainListsRoundTrip() {
+        int[][] lists = {
+            {},
+            {5},
+            {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE},
+            {1, 2, 3, 5},
+            {2, 4, 8},
+            {1, 3, 9, 27, 81, 100},
+        };
+        for (int[] values : lists) {
+            EncodedFactorList list = EncodedFactorList.encode(values, values.length);
+            assertArrayEquals(values, list.toArray());
+            assertArrayEquals(values, EncodedFactorList.wrap(list.getEncoded()).toArray());
+        }
+        int[] padded = {9, 1, 2, 4, 9};
+        assertArrayEquals(new int[]{1, 2, 4}, EncodedFactorList.encode(padded, 1, 3).toArray());
+    }
+
+    @Test
+    void testRejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> EncodedFactorList.encode(new int[]{1, 3, 2}, 3));
+        assertThrows(IllegalArgumentException.class, () -> EncodedFactorList.encode(new int[]{1, 1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> EncodedFactorList.encode(new int[]{1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> EncodedFactorList.wrap(new byte[0]));
+        // Claims three values but holds one
+        assertThrows(IllegalArgumentException.class, () -> EncodedFactorList.wrap(new byte[]{6, 2}));
+        byte[] trailing = Arrays.copyOf(EncodedFactorList.encode(new int[]{1, 2}, 2).getEncoded(), 4);
+        assertThrows(IllegalArgumentException.class, () -> EncodedFactorList.wrap(trailing));
+    }
+
+    @Test
+    void testEncodingIsSmallerThanArrays() {
+        Random random = new Random(1);
+        int[] typical = random.ints(20_000, 1, 1_000_000).toArray();
+        // Multiples of 720720 have hundreds of divisors each
+        int[] composite = random.ints(2_000, 1, 2_900).map(k -> 720_720 * k).toArray();
+
+        // Object headers dominate short lists, so typical inputs only gain
+        // about 1.5x; highly composite ones gain over 6x
+        double typicalRatio = arrayBytes(typical) / (double) encodedBytes(typical);
+        double compositeRatio = arrayBytes(composite) / (double) encodedBytes(composite);
+        assertTrue(typicalRatio > 1.4, "int[] lists take " + typicalRatio + "x the encoded size for typical inputs");
+        assertTrue(compositeRatio > 5, "int[] lists take " + compositeRatio + "x the encoded size for composite inputs");
+    }
+
+    @Test
+    void testCacheHandsOutEncodedResults() {
+        CachingComputationEngine cache = new CachingComputationEngine(new OptimizedComputationEngineImpl());
+        ComputationResult first = cache.compute("360", null);
+        ComputationResult second = cache.compute("360", null);
+        assertSame(first.getEncodedFactors(), second.getEncodedFactors());
+        assertEquals(new OptimizedComputationEngineImpl().findFactors(360), second.getFactors());
+        assertEquals(24, second.getFactorCount());
+    }
+
+    // Bytes of the EncodedFactorList objects and their byte arrays, with
+    // 16-byte headers and 8-byte alignment as on a 64-bit JVM
+    private static long encodedBytes(int[] numbers) {
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        long bytes = 0;
+        for (int number : numbers) {
+            int count = ENGINE.findFactorsInto(number, scratch);
+            bytes += 16 + align(16 + EncodedFactorList.encode(scratch, count).getEncoded().length);
+        }
+        return bytes;
+    }
+
+    // Bytes of exact-length int arrays holding the same factors
+    private static long arrayBytes(int[] numbers) {
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        long bytes = 0;
+        for (int number : numbers) {
+            bytes += align(16 + 4L * ENGINE.findFactorsInto(number, scratch));
+        }
+        return bytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
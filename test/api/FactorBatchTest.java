@@ -0,0 +1,76 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class FactorBatchTest {
+
+    @Test
+    void testBatchMatchesSingleCalls() {
+        ComputationAPI[] engines = {
+            new ComputationEngineImpl(),
+            new OptimizedComputationEngineImpl(),
+            new SieveComputationEngineImpl(1000)
+        };
+        Random random = new Random(42);
+        int[] numbers = new int[500];
+        for (int i = 0; i < numbers.length; i++) {
+            // Small range so the batch contains plenty of repeats, plus a few non-positive inputs
+            numbers[i] = random.nextInt(5000) - 5;
+        }
+
+        for (ComputationAPI engine : engines) {
+            for (boolean deduplicate : new boolean[]{false, true}) {
+                FactorBatch batch = engine.findFactorsBatch(numbers, deduplicate);
+                assertEquals(numbers.length, batch.size());
+                for (int i = 0; i < numbers.length; i++) {
+                    assertEquals(numbers[i], batch.getNumber(i));
+                    assertEquals(engine.findFactors(numbers[i]), batch.getResult(i).getFactors(),
+                            "Factors differ for " + numbers[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDeduplicatedInputsShareFactors() {
+        int[] numbers = {12, 7, 12, 1, 7, 12};
+        FactorBatch batch = new SieveComputationEngineImpl().findFactorsBatch(numbers, true);
+
+        assertEquals(batch.getFactorOffset(0), batch.getFactorOffset(2));
+        assertEquals(batch.getFactorOffset(0), batch.getFactorOffset(5));
+        assertEquals(batch.getFactorOffset(1), batch.getFactorOffset(4));
+        assertEquals(6, batch.getFactorCount(0));
+        assertEquals(1, batch.getFactorCount(3));
+
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        assertEquals(2, batch.copyFactors(4, scratch));
+        assertEquals(7, scratch[1]);
+    }
+
+    @Test
+    void testCoordinatorFactorsWholeFile() throws IOException {
+        File input = File.createTempFile("batch-input", ".txt");
+        File output = File.createTempFile("batch-output", ".txt");
+        input.deleteOnExit();
+        output.deleteOnExit();
+        Files.writeString(input.toPath(), "6\n7,0\n6\n");
+
+        ComputationCoordinator coordinator =
+                new ComputationCoordinatorImpl(new OptimizedComputationEngineImpl(), new FileDataStorage());
+        ComputeResult result = coordinator.compute(new ComputeRequestImpl(
+                input.getAbsolutePath(), output.getAbsolutePath(), new String[]{","},
+                input.getAbsolutePath(), output.getAbsolutePath()));
+
+        assertTrue(result.isSuccess());
+        List<String> lines = Files.readAllLines(output.toPath());
+        assertEquals(List.of("Factors: 1, 2, 3, 6", "Factors: 1, 7", "No factors found", "Factors: 1, 2, 3, 6"), lines);
+    }
+}
@@ -0,0 +1,74 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class FactorQueryTest {
+
+    @Test
+    void testQueriesMatchDivisorLists() {
+        ComputationAPI[] engines = {new OptimizedComputationEngineImpl(), new SieveComputationEngineImpl(1000)};
+        ComputationAPI reference = new OptimizedComputationEngineImpl();
+        int[] numbers = {1, 2, 6, 28, 30, 97, 360, 496, 1024, 4999, 999_999_937, 2095133040, Integer.MAX_VALUE};
+        for (ComputationAPI engine : engines) {
+            for (int number : numbers) {
+                List<Integer> divisors = reference.findFactors(number);
+                long sum = 0;
+                for (int divisor : divisors) {
+                    sum += divisor;
+                }
+                assertEquals(divisors.size(), engine.query(number, FactorQuery.DIVISOR_COUNT), "tau of " + number);
+                assertEquals(sum, engine.query(number, FactorQuery.DIVISOR_SUM), "sigma of " + number);
+                assertEquals(divisors.size() == 2 ? 1 : 0, engine.query(number, FactorQuery.PRIME), "prime " + number);
+                assertEquals(sum == 2L * number ? 1 : 0, engine.query(number, FactorQuery.PERFECT), "perfect " + number);
+            }
+        }
+    }
+
+    @Test
+    void testFactorizationDetails() {
+        PrimeFactorization factorization = new SieveComputationEngineImpl().factorize(360);
+        assertEquals("2^3 * 3^2 * 5", factorization.toString());
+        assertEquals(3, factorization.distinctPrimeCount());
+        assertEquals(30, factorization.radical());
+        assertFalse(factorization.isSquarefree());
+        assertTrue(new OptimizedComputationEngineImpl().factorize(30).isSquarefree());
+        assertEquals(0, new OptimizedComputationEngineImpl().factorize(1).distinctPrimeCount());
+        assertThrows(IllegalArgumentException.class, () -> new OptimizedComputationEngineImpl().factorize(0));
+        assertThrows(IllegalArgumentException.class, () -> new SieveComputationEngineImpl(100).factorize(-4));
+    }
+
+    @Test
+    void testCoordinatorWritesQueryAnswers() throws IOException {
+        File input = File.createTempFile("query-input", ".txt");
+        File output = File.createTempFile("query-output", ".txt");
+        input.deleteOnExit();
+        output.deleteOnExit();
+        Files.writeString(input.toPath(), "6,7\n0\n28\n");
+
+        ComputationCoordinator coordinator = new ComputationCoordinatorImpl(
+                new SieveComputationEngineImpl(), new FileDataStorage(), FactorQuery.DIVISOR_COUNT);
+        ComputeResult result = coordinator.compute(new ComputeRequestImpl(
+                input.getAbsolutePath(), output.getAbsolutePath(), new String[]{","},
+                input.getAbsolutePath(), output.getAbsolutePath()));
+        assertTrue(result.isSuccess());
+        assertEquals(List.of("Divisor count: 4", "Divisor count: 2", "No factors found", "Divisor count: 6"),
+                Files.readAllLines(output.toPath()));
+
+        coordinator = new ComputationCoordinatorImpl(
+                new SieveComputationEngineImpl(), new FileDataStorage(), FactorQuery.PERFECT);
+        coordinator.compute(new ComputeRequestImpl(
+                input.getAbsolutePath(), output.getAbsolutePath(), new String[]{","},
+                input.getAbsolutePath(), output.getAbsolutePath()));
+        assertEquals(List.of("Perfect: true", "Perfect: false", "No factors found", "Perfect: true"),
+                Files.readAllLines(output.toPath()));
+    }
+}
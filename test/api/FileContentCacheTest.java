@@ -0,0 +1,116 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.Test;
+
+public class FileContentCacheTest {
+
+    @Test
+    void testChangedFilesAreReadAgain() throws IOException {
+        FileContentCache cache = new FileContentCache(1 << 20, false);
+        OptimizedFileDataStorage storage = new OptimizedFileDataStorage(cache);
+        Path file = tempFile("1,2,3");
+        String path = file.toString();
+
+        assertEquals("1,2,3\n", storage.readData(path, null));
+        assertEquals("1,2,3\n", storage.readData(path, null));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // Same size, only the modification time tells the contents apart
+        FileTime modified = Files.getLastModifiedTime(file);
+        Files.writeString(file, "4,5,6");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 5_000));
+        assertEquals("4,5,6\n", storage.readData(path, null));
+        assertEquals(1, cache.getInvalidationCount());
+
+        // Replaced by another file with the same size and time, which only the file key reveals
+        Path replacement = tempFile("7,8,9");
+        Files.setLastModifiedTime(replacement, Files.getLastModifiedTime(file));
+        Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING);
+        // File systems without file keys can only compare size and time
+        if (Files.readAttributes(file, BasicFileAttributes.class).fileKey() != null) {
+            try (BufferedReader reader = new BufferedReader(storage.openReader(path))) {
+                assertEquals("7,8,9", reader.readLine());
+            }
+            assertEquals(2, cache.getInvalidationCount());
+        }
+
+        Files.delete(file);
+        assertNull(cache.get(path));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testWeightIsBoundedInRecencyOrder() throws IOException {
+        String content = "9".repeat(1000);
+        FileContentCache cache = new FileContentCache(3_500, false);
+        OptimizedFileDataStorage storage = new OptimizedFileDataStorage(cache);
+        String[] paths = new String[4];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = tempFile(content).toString();
+        }
+
+        storage.readData(paths[0], null);
+        storage.readData(paths[1], null);
+        storage.readData(paths[2], null);
+        storage.readData(paths[0], null);
+        // The least recently used entry, paths[1], makes room for paths[3]
+        storage.readData(paths[3], null);
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.getWeightedSize() <= cache.getMaximumBytes());
+        assertEquals(content + "\n", cache.get(paths[0]));
+        assertNull(cache.get(paths[1]));
+
+        // Contents larger than the whole cache are read but not kept
+        Path large = tempFile("1".repeat(4000));
+        assertEquals(4001, storage.readData(large.toString(), null).length());
+        assertNull(cache.get(large.toString()));
+        assertThrows(IllegalArgumentException.class, () -> new FileContentCache(0, true));
+    }
+
+    @Test
+    void testSoftTierKeepsEvictedEntries() throws IOException {
+        FileContentCache cache = new FileContentCache(1_500, true);
+        OptimizedFileDataStorage storage = new OptimizedFileDataStorage(cache);
+        String first = tempFile("1 ".repeat(500)).toString();
+        String second = tempFile("2 ".repeat(500)).toString();
+
+        storage.readData(first, null);
+        storage.readData(second, null);
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.size());
+
+        // Nothing is short of memory, so the evicted contents are still reachable
+        assertEquals("1 ".repeat(500) + "\n", storage.readData(first, null));
+        assertEquals(1, cache.getSoftHitCount());
+        try (IntCursor cursor = storage.readNumbers(second, null)) {
+            assertEquals(2, cursor.nextInt());
+        }
+        assertEquals(2, cache.getSoftHitCount());
+
+        // A write replaces whatever was cached for the file
+        storage.writeData(first, "42");
+        assertEquals("42", cache.get(first));
+    }
+
+    private static Path tempFile(String content) throws IOException {
+        File file = File.createTempFile("cached-input", ".txt");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), content);
+        return file.toPath();
+    }
+}
@@ -0,0 +1,78 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class GcdOperationsTest {
+
+    @Test
+    void testGcdAndLcm() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            long a = random.nextInt(Integer.MAX_VALUE);
+            long b = random.nextInt(1 << 16) * (long) random.nextInt(1 << 10);
+            assertEquals(BigInteger.valueOf(a).gcd(BigInteger.valueOf(b)).longValue(), GcdOperations.gcd(a, b));
+        }
+        ComputationAPI engine = new OptimizedComputationEngineImpl();
+        assertEquals(6, engine.gcd(new int[]{12, -18, 30}));
+        assertEquals(0, engine.gcd(new int[0]));
+        assertEquals(2_147_483_648L, engine.gcd(new int[]{Integer.MIN_VALUE, 0}));
+        assertEquals(BigInteger.valueOf(180), engine.lcm(new int[]{12, -18, 30, 45}));
+        assertEquals(BigInteger.ZERO, engine.lcm(new int[]{4, 0}));
+        assertEquals(BigInteger.ONE, engine.lcm(new int[0]));
+
+        // Past the long range the result moves to BigInteger
+        int[] primes = {1_000_000_007, 998_244_353, 1_000_000_009, 2_147_483_647, 999_999_937};
+        BigInteger expected = BigInteger.ONE;
+        for (int p : primes) {
+            expected = expected.multiply(BigInteger.valueOf(p));
+        }
+        assertEquals(expected, engine.lcm(primes));
+        assertThrows(IllegalArgumentException.class, () -> GcdOperations.gcd(-1, 2));
+    }
+
+    @Test
+    void testSharedFactorsMatchPairwiseGcd() {
+        Random random = new Random(11);
+        int[] numbers = new int[1000];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = 1 + random.nextInt(Integer.MAX_VALUE - 1);
+        }
+        numbers[500] = numbers[17];
+        numbers[900] = 1;
+
+        long[] shared = new OptimizedComputationEngineImpl().sharedFactors(numbers);
+        for (int i = 0; i < numbers.length; i++) {
+            BigInteger others = BigInteger.ONE;
+            for (int j = 0; j < numbers.length; j++) {
+                if (j != i) {
+                    others = others.multiply(BigInteger.valueOf(numbers[j]));
+                }
+            }
+            assertEquals(others.gcd(BigInteger.valueOf(numbers[i])).longValue(), shared[i], "Shared factor differs at " + i);
+        }
+        assertEquals(numbers[17], shared[500]);
+        assertEquals(1, shared[900]);
+
+        assertArrayEquals(new long[]{1}, GcdOperations.sharedFactors(new int[]{12}));
+        assertArrayEquals(new long[]{2, 1, 2}, GcdOperations.sharedFactors(new int[]{6, 35, 4}));
+        assertThrows(IllegalArgumentException.class, () -> GcdOperations.sharedFactors(new int[]{3, 0}));
+    }
+
+    @Test
+    void testCoprimeGroups() {
+        ComputationAPI engine = new SieveComputationEngineImpl();
+        // 6 and 35 are joined through 15, 121 joins 11, and 1 stands alone
+        int[] groups = engine.coprimeGroups(new int[]{6, 11, 35, 1, 15, 121, 49});
+        assertArrayEquals(new int[]{0, 1, 0, 3, 0, 1, 0}, groups);
+
+        // 22 links the groups of 6 and 11
+        groups = engine.coprimeGroups(new int[]{6, 11, 35, 1, 22});
+        assertArrayEquals(new int[]{0, 0, 2, 3, 0}, groups);
+    }
+}
@@ -0,0 +1,200 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import coordinator.MultiThreadedCoordinator;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class IntCursorTest {
+
+    @Test
+    void testCursorMatchesMappedParser() throws IOException {
+        Random random = new Random(29);
+        StringBuilder text = new StringBuilder("  ");
+        for (int i = 0; i < 5_000; i++) {
+            text.append(i % 50 == 0 ? "x" + i : Integer.toString(random.nextInt()));
+            text.append(i % 9 == 0 ? "\r\n" : i % 3 == 0 ? ";" : ", ");
+        }
+        text.append("2147483648 -2147483648 00000000000000000007");
+        File file = File.createTempFile("cursor-input", ".txt");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), text.toString());
+        int[] expected = new MappedIntParser(new String[]{";"}).parse(file.toPath());
+
+        for (int bufferSize : new int[]{1, 7, IntCursor.DEFAULT_BUFFER_SIZE}) {
+            // Blocks and single ints mixed, then the rest through the iterator
+            try (IntCursor cursor = new IntCursor(Files.newInputStream(file.toPath()), new String[]{";"}, bufferSize)) {
+                int[] actual = new int[expected.length];
+                int count = 0;
+                int[] block = new int[333];
+                for (int i = 0; i < 5; i++) {
+                    int read = cursor.read(block);
+                    System.arraycopy(block, 0, actual, count, read);
+                    count += read;
+                    actual[count++] = cursor.nextInt();
+                }
+                while (cursor.hasNext()) {
+                    actual[count++] = cursor.nextInt();
+                }
+                assertEquals(expected.length, count, "buffer " + bufferSize);
+                assertArrayEquals(expected, actual, "buffer " + bufferSize);
+                assertEquals(-1, cursor.read(block));
+                assertThrows(NoSuchElementException.class, cursor::nextInt);
+            }
+        }
+
+        FileDataStorage storage = new FileDataStorage();
+        try (IntCursor cursor = storage.readNumbers(file.getAbsolutePath(), new String[]{";"})) {
+            int[] streamed = IntStream.generate(cursor::nextInt).limit(expected.length).toArray();
+            assertArrayEquals(expected, streamed);
+            assertFalse(cursor.hasNext());
+        }
+    }
+
+    @Test
+    void testCustomDelimiterAndDefaultReadNumbers() throws IOException {
+        try (IntCursor cursor = new IntCursor(new ByteArrayInputStream("4|5|x|6".getBytes(StandardCharsets.UTF_8)),
+                new String[]{"|"})) {
+            assertArrayEquals(new int[]{4, 5, 6}, IntStream.generate(cursor::nextInt).limit(3).toArray());
+            assertFalse(cursor.hasNext());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new IntCursor(null, null));
+        // Storages without a streaming read go through readData, which may return nothing
+        try (IntCursor cursor = new InMemoryStorageAPI().readNumbers("anything", null)) {
+            assertFalse(cursor.hasNext());
+        }
+    }
+
+    @Test
+    void testCoordinatorHeapStaysFlatAsInputGrows() throws IOException {
+        long smallPeak = streamThroughCoordinator(500_000);
+        long largePeak = streamThroughCoordinator(2_000_000);
+        // Holding all 2M results would take tens of MB more than 500K
+        assertTrue(largePeak < smallPeak + (8 << 20), "Peak live heap grew from " + smallPeak / 1024
+                + " KB for 500K numbers to " + largePeak / 1024 + " KB for 2M numbers");
+    }
+
+    // Runs a synthetic input through a streaming coordinator and returns the
+    // largest live heap seen while the input was being read
+    private static long streamThroughCoordinator(int count) throws IOException {
+        File output = File.createTempFile("cursor-output", ".txt");
+        output.deleteOnExit();
+        SyntheticInput input = new SyntheticInput(count, count / 8);
+        StorageAPI storage = new StorageAPI() {
+            @Override
+            public String getSource() {
+                return "synthetic";
+            }
+
+            @Override
+            public boolean writeData(String destination, String data) {
+                return false;
+            }
+
+            @Override
+            public String readData(String source, String[] delimiters) {
+                throw new UnsupportedOperationException("Only streamed reads are expected");
+            }
+
+            @Override
+            public StorageResponse parseData(String data) {
+                throw new UnsupportedOperationException("Only streamed reads are expected");
+            }
+
+            @Override
+            public IntCursor readNumbers(String source, String[] delimiters) {
+                return new IntCursor(input, delimiters);
+            }
+        };
+        MultiThreadedCoordinator coordinator =
+                new MultiThreadedCoordinator(new OptimizedComputationEngineImpl(), storage, 2, 0);
+        try {
+            coordinator.startComputation("synthetic-input", output.getAbsolutePath(), ',');
+        } finally {
+            coordinator.shutdown();
+        }
+        try (var lines = Files.lines(output.toPath())) {
+            assertEquals(count, lines.count());
+        }
+        List<String> head = Files.readAllLines(output.toPath()).subList(0, 2);
+        assertEquals(List.of("Factors of 1: 1", "Factors of 8: 1 2 4 8"), head);
+        output.delete();
+        return input.peakLiveHeap;
+    }
+
+    // Generates "1\n8\n15\n..." on the fly, sampling the live heap as it goes
+    private static final class SyntheticInput extends InputStream {
+        private final int count;
+        private final int sampleEvery;
+        private final byte[] token = new byte[12];
+        private int tokenPosition;
+        private int tokenLength;
+        private int generated;
+        long peakLiveHeap;
+
+        SyntheticInput(int count, int sampleEvery) {
+            this.count = count;
+            this.sampleEvery = sampleEvery;
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0];
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            int written = 0;
+            while (written < length) {
+                if (tokenPosition == tokenLength) {
+                    if (generated == count) {
+                        break;
+                    }
+                    if (generated % sampleEvery == 0) {
+                        sampleHeap();
+                    }
+                    int number = 1 + (int) (generated * 7L % 10_000);
+                    generated++;
+                    tokenLength = 0;
+                    tokenPosition = 0;
+                    for (byte b : Integer.toString(number).getBytes(StandardCharsets.US_ASCII)) {
+                        token[tokenLength++] = b;
+                    }
+                    token[tokenLength++] = '\n';
+                }
+                buffer[offset + written++] = token[tokenPosition++];
+            }
+            return written == 0 && length > 0 ? -1 : written;
+        }
+
+        private void sampleHeap() {
+            System.gc();
+            // Heap left by that collection, not counting what the workers allocated since
+            long live = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null) {
+                    live += pool.getCollectionUsage().getUsed();
+                }
+            }
+            peakLiveHeap = Math.max(peakLiveHeap, live);
+        }
+    }
+}
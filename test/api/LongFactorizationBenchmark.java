@@ -0,0 +1,122 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Benchmark for the 64-bit factorization path on the inputs that are hardest for trial division:
+ * semiprimes with two large factors and powers of a large prime.
+ */
+public class LongFactorizationBenchmark {
+
+    // Number of iterations to run for averaging performance
+    private static final int DEFAULT_BENCHMARK_ITERATIONS = 3;
+    // Number of inputs of each kind
+    private static final int DEFAULT_TEST_DATA_SIZE = 200;
+
+    private static int BENCHMARK_ITERATIONS;
+    private static int TEST_DATA_SIZE;
+
+    @BeforeAll
+    public static void setupParameters() {
+        // Load configuration from system properties or use defaults
+        BENCHMARK_ITERATIONS = Integer.getInteger("benchmark.iterations", DEFAULT_BENCHMARK_ITERATIONS);
+        TEST_DATA_SIZE = Integer.getInteger("benchmark.datasize", DEFAULT_TEST_DATA_SIZE);
+
+        System.out.println("Benchmark configuration:");
+        System.out.println("- Iterations: " + BENCHMARK_ITERATIONS);
+        System.out.println("- Test data size: " + TEST_DATA_SIZE);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Tag("slow")
+    @EnabledIfSystemProperty(named = "run.benchmark", matches = "true")
+    public void benchmarkLongFactorization() {
+        ComputationAPI engine = new OptimizedComputationEngineImpl();
+        Random random = new Random(42); // Fixed seed for reproducibility
+
+        // 18-digit semiprimes: two 30-bit primes
+        List<Long> semiprimes = new ArrayList<>();
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            semiprimes.add(randomPrime(30, random) * randomPrime(30, random));
+        }
+
+        // Squares of 31-bit primes and cubes of 21-bit primes
+        List<Long> primePowers = new ArrayList<>();
+        for (int i = 0; i < TEST_DATA_SIZE / 2; i++) {
+            long p = randomPrime(31, random);
+            primePowers.add(p * p);
+            long q = randomPrime(21, random);
+            primePowers.add(q * q * q);
+        }
+
+        // Warm up the JVM for more consistent results
+        benchmarkImplementation(engine, semiprimes.subList(0, Math.min(10, semiprimes.size())));
+
+        double semiprimeTime = benchmarkImplementation(engine, semiprimes);
+        double primePowerTime = benchmarkImplementation(engine, primePowers);
+
+        System.out.println("========== BENCHMARK RESULTS ==========");
+        System.out.println("Semiprimes average time per input: " + semiprimeTime / semiprimes.size() + " ms");
+        System.out.println("Prime powers average time per input: " + primePowerTime / primePowers.size() + " ms");
+        System.out.println("=======================================");
+
+        // Verify correctness
+        verifyFactorizations(semiprimes);
+        verifyFactorizations(primePowers);
+    }
+
+    /**
+     * Benchmarks the long factorization path with the provided test data.
+     * Returns the average execution time in milliseconds.
+     */
+    private double benchmarkImplementation(ComputationAPI engine, List<Long> testData) {
+        long totalTime = 0;
+
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            long startTime = System.nanoTime();
+
+            for (long number : testData) {
+                engine.findFactorsLong(number);
+            }
+
+            long endTime = System.nanoTime();
+            totalTime += (endTime - startTime);
+        }
+
+        // Convert to milliseconds and calculate average
+        return (totalTime / 1_000_000.0) / BENCHMARK_ITERATIONS;
+    }
+
+    private long randomPrime(int bits, Random random) {
+        return BigInteger.probablePrime(bits, random).longValue();
+    }
+
+    /**
+     * Verifies that the prime factors multiply back to each input.
+     */
+    private void verifyFactorizations(List<Long> testData) {
+        long[] primes = new long[LongFactorizer.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[LongFactorizer.MAX_DISTINCT_PRIMES];
+        for (long number : testData) {
+            int count = LongFactorizer.factorize(number, primes, exponents);
+            long product = 1;
+            for (int i = 0; i < count; i++) {
+                assertTrue(LongFactorizer.isPrime(primes[i]), "Factor should be prime for input: " + number);
+                for (int e = 0; e < exponents[i]; e++) {
+                    product *= primes[i];
+                }
+            }
+            assertEquals(number, product, "Factors should multiply back to input: " + number);
+        }
+    }
+}
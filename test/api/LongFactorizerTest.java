@@ -0,0 +1,108 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class LongFactorizerTest {
+
+    @Test
+    void testPrimalityMatchesTrialDivision() {
+        for (long n = -5; n < 20000; n++) {
+            assertEquals(isPrimeByTrialDivision(n), LongFactorizer.isPrime(n), "Primality differs for " + n);
+        }
+    }
+
+    @Test
+    void testStrongPseudoprimesAreComposite() {
+        // Carmichael number and strong pseudoprimes to several small bases
+        assertFalse(LongFactorizer.isPrime(561L));
+        assertFalse(LongFactorizer.isPrime(3215031751L));
+        assertFalse(LongFactorizer.isPrime(3825123056546413051L));
+        assertTrue(LongFactorizer.isPrime((1L << 61) - 1));
+        assertTrue(LongFactorizer.isPrime(Long.MAX_VALUE - 24));
+        assertFalse(LongFactorizer.isPrime(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testDivisorsMatchIntEngine() {
+        ComputationAPI reference = new OptimizedComputationEngineImpl();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            int n = random.nextInt(Integer.MAX_VALUE);
+            List<Long> expected = new ArrayList<>();
+            for (int factor : reference.findFactors(n)) {
+                expected.add((long) factor);
+            }
+            assertEquals(expected, LongFactorizer.divisorList(n), "Divisors differ for " + n);
+        }
+    }
+
+    @Test
+    void testFactorsLargeSemiprimesAndPrimePowers() {
+        long p = 999999937L;
+        long q = 999999929L;
+        assertFactorization(p * q, new long[]{q, p}, new int[]{1, 1});
+
+        long r = 2097143L;
+        assertFactorization(r * r * r, new long[]{r}, new int[]{3});
+
+        // 2^62 and a highly composite 18-digit number
+        assertFactorization(1L << 62, new long[]{2}, new int[]{62});
+        assertFactorization(897612484786617600L,
+                new long[]{2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37},
+                new int[]{8, 4, 2, 2, 1, 1, 1, 1, 1, 1, 1, 1});
+    }
+
+    @Test
+    void testComputeHandlesNumbersBeyondIntRange() {
+        ComputationAPI engine = new OptimizedComputationEngineImpl();
+        ComputationResult result = engine.compute("10000000000", new String[]{","});
+
+        assertTrue(result.isSuccess());
+        assertTrue(result.isTruncated());
+        List<Long> factors = result.getLongFactors();
+        assertEquals(121, factors.size());
+        // The int views hold the factors up to Integer.MAX_VALUE, all of them below 10^10 / 5
+        List<Integer> intFactors = result.getFactors();
+        assertEquals(intFactors.size(), result.getFactorCount());
+        assertEquals(intFactors.size(), result.getEncodedFactors().size());
+        assertEquals(factors.subList(0, intFactors.size()),
+                intFactors.stream().map(Integer::longValue).collect(Collectors.toList()));
+        assertTrue(factors.get(intFactors.size()) > Integer.MAX_VALUE);
+        assertFalse(engine.compute("6", new String[]{","}).isTruncated());
+        assertEquals(Long.valueOf(1L), factors.get(0));
+        assertEquals(Long.valueOf(10000000000L), factors.get(factors.size() - 1));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 6L), engine.compute("6", new String[]{","}).getLongFactors());
+    }
+
+    private static void assertFactorization(long n, long[] expectedPrimes, int[] expectedExponents) {
+        long[] primes = new long[LongFactorizer.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[LongFactorizer.MAX_DISTINCT_PRIMES];
+        int count = LongFactorizer.factorize(n, primes, exponents);
+
+        assertArrayEquals(expectedPrimes, Arrays.copyOf(primes, count), "Primes differ for " + n);
+        assertArrayEquals(expectedExponents, Arrays.copyOf(exponents, count), "Exponents differ for " + n);
+    }
+
+    private static boolean isPrimeByTrialDivision(long n) {
+        if (n < 2) {
+            return false;
+        }
+        for (long d = 2; d * d <= n; d++) {
+            if (n % d == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,100 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares reading an input file into numbers through readData and
+ * parseData with the memory-mapped readIntArray and its parallel
+ * readIntChunks variant.
+ */
+public class MappedIntParserBenchmark {
+
+    // Number of values in the generated input
+    private static final int DEFAULT_TEST_DATA_SIZE = 20_000_000;
+    private static final int DEFAULT_ITERATIONS = 3;
+
+    private static int TEST_DATA_SIZE;
+    private static int ITERATIONS;
+
+    @BeforeAll
+    public static void setupParameters() {
+        // Load configuration from system properties or use defaults
+        TEST_DATA_SIZE = Integer.getInteger("benchmark.datasize", DEFAULT_TEST_DATA_SIZE);
+        ITERATIONS = Integer.getInteger("benchmark.iterations", DEFAULT_ITERATIONS);
+
+        System.out.println("Benchmark configuration:");
+        System.out.println("- Test data size: " + TEST_DATA_SIZE);
+        System.out.println("- Iterations: " + ITERATIONS);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Tag("slow")
+    @EnabledIfSystemProperty(named = "run.benchmark", matches = "true")
+    public void benchmarkReadNumbers() throws IOException {
+        File input = File.createTempFile("mapped-input", ".txt");
+        input.deleteOnExit();
+        Random random = new Random(42); // Fixed seed for reproducibility
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(input), 1 << 16)) {
+            for (int i = 0; i < TEST_DATA_SIZE; i++) {
+                out.write(Integer.toString(random.nextInt(Integer.MAX_VALUE)).getBytes());
+                out.write(i % 16 == 15 ? '\n' : ',');
+            }
+        }
+        String path = input.getAbsolutePath();
+        FileDataStorage storage = new FileDataStorage();
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int[] mapped = null;
+        long mappedNanos = Long.MAX_VALUE;
+        long chunkedNanos = Long.MAX_VALUE;
+        List<int[]> chunks = null;
+        long stringNanos = Long.MAX_VALUE;
+        List<Integer> boxed = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            mapped = storage.readIntArray(path, new String[]{","});
+            mappedNanos = Math.min(mappedNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            chunks = storage.readIntChunks(path, new String[]{","}, executor, threads);
+            chunkedNanos = Math.min(chunkedNanos, System.nanoTime() - start);
+
+            boxed = null;
+            start = System.nanoTime();
+            boxed = storage.parseData(storage.readData(path, new String[]{","})).getNumbers();
+            stringNanos = Math.min(stringNanos, System.nanoTime() - start);
+        }
+        executor.shutdown();
+        assertArrayEquals(boxed.stream().mapToInt(Integer::intValue).toArray(), mapped);
+        assertArrayEquals(mapped, chunks.stream().flatMapToInt(Arrays::stream).toArray());
+
+        double megabytes = input.length() / (double) (1 << 20);
+        System.out.println("========== BENCHMARK RESULTS ==========");
+        System.out.println("Input: " + (long) megabytes + " MB, " + mapped.length + " numbers");
+        System.out.println("readData + parseData: " + stringNanos / 1_000_000 + " ms ("
+                + (long) (megabytes / (stringNanos / 1e9)) + " MB/s)");
+        System.out.println("readIntArray (mapped): " + mappedNanos / 1_000_000 + " ms ("
+                + (long) (megabytes / (mappedNanos / 1e9)) + " MB/s)");
+        System.out.println("readIntChunks (" + chunks.size() + " chunks, " + threads + " threads): "
+                + chunkedNanos / 1_000_000 + " ms (" + (long) (megabytes / (chunkedNanos / 1e9)) + " MB/s)");
+        System.out.println("Speedup: " + (double) stringNanos / mappedNanos + "x");
+        System.out.println("=======================================");
+    }
+}
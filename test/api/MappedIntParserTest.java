@@ -0,0 +1,90 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+public class MappedIntParserTest {
+
+    @Test
+    void testParsesLikeParseData() throws IOException {
+        Path file = tempFile("  12,7\n-3 +4\t\r\n0,,abc,5x, 2147483647 -2147483648 2147483648 - 99\n"
+                + "0000000000000000000042 99999999999999999999\n");
+        int[] expected = {12, 7, -3, 4, 0, 2147483647, -2147483648, 99, 42};
+
+        assertArrayEquals(expected, new MappedIntParser(null).parse(file));
+        FileDataStorage storage = new FileDataStorage();
+        assertArrayEquals(expected, storage.readIntArray(file.toString(), new String[]{","}));
+        assertEquals(file.toString(), storage.getSource());
+        List<Integer> parsed = storage.parseData(storage.readData(file.toString(), new String[0])).getNumbers();
+        assertArrayEquals(parsed.stream().mapToInt(Integer::intValue).toArray(), expected);
+    }
+
+    @Test
+    void testNumbersSplitAcrossWindows() throws IOException {
+        Random random = new Random(17);
+        int[] expected = new int[300];
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = random.nextInt();
+            text.append(expected[i]).append(i % 10 == 9 ? ";\n" : ";");
+        }
+        Path file = tempFile(text.toString());
+        // Windows of a few bytes cut almost every number in two
+        for (long window : new long[]{1, 3, 7, 1000}) {
+            assertArrayEquals(expected, new MappedIntParser(new String[]{";"}, window).parse(file), "window " + window);
+        }
+    }
+
+    @Test
+    void testParallelChunksConcatenateToSequentialParse() throws IOException {
+        Random random = new Random(23);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            text.append(random.nextInt(1 << (1 + random.nextInt(30)))).append(i % 7 == 6 ? "\n" : "  ;");
+        }
+        Path file = tempFile(text.toString());
+        MappedIntParser parser = new MappedIntParser(new String[]{";"});
+        int[] expected = parser.parse(file);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (FileChannel channel = FileChannel.open(file)) {
+            for (int splits = 1; splits <= 64; splits *= 2) {
+                long[] points = parser.splitPoints(channel, channel.size(), splits);
+                List<int[]> chunks = parser.parseChunks(channel, points, executor);
+                int[] joined = chunks.stream().flatMapToInt(Arrays::stream).toArray();
+                assertArrayEquals(expected, joined, splits + " splits");
+            }
+            // Files below the minimum split size are parsed in one piece
+            assertEquals(1, parser.parseChunks(file, executor, 8).size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testCustomDelimiterAndEmptyFile() throws IOException {
+        assertArrayEquals(new int[]{1, 2, 3}, new MappedIntParser(new String[]{"|"}).parse(tempFile("1|2|3")));
+        // Without the delimiter the whole line is one invalid token
+        assertArrayEquals(new int[0], new MappedIntParser(new String[0]).parse(tempFile("1|2|3")));
+        assertArrayEquals(new int[0], new MappedIntParser(null).parse(tempFile("")));
+        assertArrayEquals(new int[0], new FileDataStorage().readIntArray("does-not-exist.txt", null));
+    }
+
+    private static Path tempFile(String content) throws IOException {
+        File file = File.createTempFile("mapped-input", ".txt");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), content);
+        return file.toPath();
+    }
+}
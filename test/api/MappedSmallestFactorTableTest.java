@@ -0,0 +1,59 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class MappedSmallestFactorTableTest {
+
+    @Test
+    void testMappedTableMatchesSievedTable() throws IOException {
+        Path file = File.createTempFile("spf", ".table").toPath();
+        file.toFile().deleteOnExit();
+        MappedSmallestFactorTable.write(file, 100_001);
+
+        MappedSmallestFactorTable mapped = MappedSmallestFactorTable.open(file);
+        SmallestFactorTable sieved = SmallestFactorTable.build(100_001);
+        assertEquals(100_001, mapped.getBound());
+        for (int n = 3; n <= 100_001; n += 2) {
+            assertEquals(sieved.smallestOddFactor(n), mapped.smallestOddFactor(n), "Smallest factor differs for " + n);
+        }
+    }
+
+    @Test
+    void testEngineOverMappedTable() throws IOException {
+        Path file = File.createTempFile("spf", ".table").toPath();
+        file.toFile().deleteOnExit();
+        MappedSmallestFactorTable.write(file, 50_000);
+
+        ComputationAPI engine = new SieveComputationEngineImpl(MappedSmallestFactorTable.open(file));
+        ComputationAPI reference = new OptimizedComputationEngineImpl();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            // Mostly inside the table, some above it
+            int number = random.nextInt(i % 10 == 0 ? Integer.MAX_VALUE : 50_001);
+            assertEquals(reference.findFactors(number), engine.findFactors(number), "Factors differ for " + number);
+        }
+    }
+
+    @Test
+    void testRejectsInvalidFiles() throws IOException {
+        Path file = File.createTempFile("spf", ".table").toPath();
+        file.toFile().deleteOnExit();
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18});
+        assertThrows(IOException.class, () -> MappedSmallestFactorTable.open(file));
+
+        // A valid header with missing data
+        MappedSmallestFactorTable.write(file, 1000);
+        byte[] truncated = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(truncated, truncated.length - 2));
+        assertThrows(IOException.class, () -> MappedSmallestFactorTable.open(file));
+    }
+}
@@ -0,0 +1,117 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Benchmark comparing sequential and fork/join statistics over growing arrays,
+ * reporting the smallest size at which the parallel path wins.
+ */
+public class ParallelStatisticsBenchmark {
+
+    // Number of iterations to run for averaging performance
+    private static final int DEFAULT_BENCHMARK_ITERATIONS = 10;
+    // Largest array size measured; sizes grow by a factor of 4 from 1024
+    private static final int DEFAULT_MAX_SIZE = 16 * 1024 * 1024;
+
+    private static int BENCHMARK_ITERATIONS;
+    private static int MAX_SIZE;
+    private static int PARALLELISM;
+    private static int THRESHOLD;
+
+    @BeforeAll
+    public static void setupParameters() {
+        // Load configuration from system properties or use defaults
+        BENCHMARK_ITERATIONS = Integer.getInteger("benchmark.iterations", DEFAULT_BENCHMARK_ITERATIONS);
+        MAX_SIZE = Integer.getInteger("benchmark.datasize", DEFAULT_MAX_SIZE);
+        PARALLELISM = Integer.getInteger("benchmark.parallelism", Runtime.getRuntime().availableProcessors());
+        THRESHOLD = Integer.getInteger("benchmark.threshold", ParallelStatistics.DEFAULT_THRESHOLD);
+
+        System.out.println("Benchmark configuration:");
+        System.out.println("- Iterations: " + BENCHMARK_ITERATIONS);
+        System.out.println("- Max data size: " + MAX_SIZE);
+        System.out.println("- Parallelism: " + PARALLELISM);
+        System.out.println("- Sequential threshold: " + THRESHOLD);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Tag("slow")
+    @EnabledIfSystemProperty(named = "run.benchmark", matches = "true")
+    public void benchmarkParallelStatistics() {
+        Random random = new Random(42); // Fixed seed for reproducibility
+        double[] data = new double[MAX_SIZE];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextDouble() * 1_000_000;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+        try {
+            ParallelStatistics parallel = new ParallelStatistics(pool, THRESHOLD);
+
+            // Warm up the JVM for more consistent results
+            for (int i = 0; i < 3; i++) {
+                StatisticsAccumulator.of(data);
+                parallel.compute(data);
+            }
+
+            System.out.println("========== BENCHMARK RESULTS ==========");
+            // Crossover: the smallest size from which the parallel path is clearly faster at every larger size
+            int crossover = -1;
+            for (int size = 1024; size <= MAX_SIZE; size *= 4) {
+                int length = size;
+                double sequentialTime = time(() -> sequential(data, length));
+                double parallelTime = time(() -> parallel.compute(data, 0, length));
+                double speedup = sequentialTime / parallelTime;
+                System.out.println(String.format("%,12d values: sequential %.3f ms, parallel %.3f ms, speedup %.2fx",
+                        size, sequentialTime, parallelTime, speedup));
+                if (speedup < 1.1) {
+                    crossover = -1;
+                } else if (crossover < 0) {
+                    crossover = size;
+                }
+            }
+            System.out.println(crossover < 0
+                    ? "Parallel path never beat the sequential path"
+                    : "Parallel path wins from " + crossover + " values");
+            System.out.println("=======================================");
+
+            // Verify correctness
+            StatisticsAccumulator expected = StatisticsAccumulator.of(data);
+            StatisticsAccumulator actual = parallel.compute(data);
+            assertEquals(expected.getCount(), actual.getCount(), "Counts should match");
+            assertEquals(expected.getMax(), actual.getMax(), "Maxima should match");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static StatisticsAccumulator sequential(double[] data, int length) {
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        statistics.accept(data, 0, length);
+        return statistics;
+    }
+
+    /**
+     * Runs the computation repeatedly.
+     * Returns the average execution time in milliseconds.
+     */
+    private double time(Runnable computation) {
+        long totalTime = 0;
+
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            long startTime = System.nanoTime();
+            computation.run();
+            long endTime = System.nanoTime();
+            totalTime += (endTime - startTime);
+        }
+
+        // Convert to milliseconds and calculate average
+        return (totalTime / 1_000_000.0) / BENCHMARK_ITERATIONS;
+    }
+}
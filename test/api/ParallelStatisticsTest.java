@@ -0,0 +1,55 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+public class ParallelStatisticsTest {
+
+    @Test
+    void testParallelMatchesSequential() {
+        Random random = new Random(42);
+        double[] values = new double[100_003];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 50 + 1e4;
+        }
+        StatisticsAccumulator sequential = StatisticsAccumulator.of(values);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // A tiny threshold forces a deep split even on small machines
+            StatisticsAccumulator parallel = new ParallelStatistics(pool, 1000).compute(values);
+            assertEquals(sequential.getCount(), parallel.getCount());
+            assertEquals(sequential.getSum(), parallel.getSum(), 1e-6);
+            assertEquals(sequential.getAverage(), parallel.getAverage(), 1e-9);
+            assertEquals(sequential.getMin(), parallel.getMin());
+            assertEquals(sequential.getMax(), parallel.getMax());
+            assertEquals(sequential.getVariance(), parallel.getVariance(), 1e-6);
+
+            StatisticsAccumulator range = new ParallelStatistics(pool, 1000).compute(values, 10, 5010);
+            StatisticsAccumulator expected = new StatisticsAccumulator();
+            expected.accept(values, 10, 5010);
+            assertEquals(expected.getCount(), range.getCount());
+            assertEquals(expected.getSum(), range.getSum(), 1e-6);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testEngineParallelMode() {
+        double[] values = {1, 2, 3, 4, 5};
+        StatisticsAccumulator statistics = new OptimizedComputationEngineImpl().calculateStatistics(values, true);
+        assertEquals(15.0, statistics.getSum());
+        assertEquals(2.0, statistics.getVariance(), 1e-12);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelStatistics(0));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelStatistics().compute(new double[3], 2, 4));
+    }
+}
@@ -0,0 +1,70 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class PrimalityFilterTest {
+
+    @Test
+    void testMatchesLongFactorizer() {
+        PrimalityFilter filter = new PrimalityFilter();
+        for (int n = -10; n < 200_000; n++) {
+            assertEquals(LongFactorizer.isPrime(n), filter.isPrime(n), "Primality differs for " + n);
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            int n = PrimalityFilter.BITMAP_BOUND + random.nextInt(Integer.MAX_VALUE - PrimalityFilter.BITMAP_BOUND);
+            assertEquals(LongFactorizer.isPrime(n), filter.isPrime(n), "Primality differs for " + n);
+        }
+        // Around the bitmap bound and at the top of the int range
+        for (int n = PrimalityFilter.BITMAP_BOUND - 100; n < PrimalityFilter.BITMAP_BOUND + 100; n++) {
+            assertEquals(LongFactorizer.isPrime(n), filter.isPrime(n), "Primality differs for " + n);
+        }
+        assertTrue(filter.isPrime(Integer.MAX_VALUE));
+        // Strong pseudoprime to bases 2, 3 and 5
+        assertFalse(filter.isPrime(25_326_001));
+    }
+
+    @Test
+    void testCountsEachPath() {
+        PrimalityFilter filter = new PrimalityFilter();
+        filter.isPrime(97);
+        filter.isPrime(2_147_483_629);
+        filter.isPrime(2_147_483_629);
+        filter.isPrime(100);
+        filter.isPrime(2_147_483_630);
+        filter.isPrime(1);
+        assertEquals(1, filter.getBitmapPrimeCount());
+        assertEquals(2, filter.getMillerRabinPrimeCount());
+        assertEquals(3, filter.getCompositeCount());
+    }
+
+    @Test
+    void testEnginesAnswerPrimesDirectly() {
+        OptimizedComputationEngineImpl optimized = new OptimizedComputationEngineImpl();
+        ComputationEngineImpl standard = new ComputationEngineImpl();
+        VectorComputationEngineImpl vector = new VectorComputationEngineImpl();
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+
+        assertEquals(List.of(1, Integer.MAX_VALUE), optimized.findFactors(Integer.MAX_VALUE));
+        assertEquals(List.of(1, Integer.MAX_VALUE), standard.findFactors(Integer.MAX_VALUE));
+        assertEquals(2, vector.findFactorsInto(Integer.MAX_VALUE, scratch));
+        assertEquals(Integer.MAX_VALUE, scratch[1]);
+        assertEquals(1, optimized.getPrimalityFilter().getMillerRabinPrimeCount());
+        assertEquals(1, standard.getPrimalityFilter().getMillerRabinPrimeCount());
+
+        // Small primes, 1 and composites still get their full divisor lists
+        assertEquals(List.of(1, 2), optimized.findFactors(2));
+        assertEquals(List.of(1), standard.findFactors(1));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 6, 12), standard.findFactors(12));
+        int count = optimized.findFactorsInto(12, scratch);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 6, 12), Arrays.asList(Arrays.stream(scratch, 0, count).boxed().toArray(Integer[]::new)));
+        assertEquals(1, optimized.getPrimalityFilter().getBitmapPrimeCount());
+    }
+}
@@ -0,0 +1,149 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import coordinator.MultiThreadedCoordinator;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class PrimeIndexTest {
+
+    @Test
+    void testCompressedBitmapMatchesBitSet() {
+        Random random = new Random(5);
+        CompressedBitmap sparse = new CompressedBitmap();
+        CompressedBitmap dense = new CompressedBitmap();
+        BitSet sparseBits = new BitSet();
+        BitSet denseBits = new BitSet();
+        for (int i = 0; i < 3_000; i++) {
+            int value = random.nextInt(1 << 18);
+            sparse.add(value);
+            sparseBits.set(value);
+        }
+        // Far more than ARRAY_LIMIT values under one key turns it into a bitmap container
+        for (int i = 0; i < 40_000; i++) {
+            int value = 65_536 + random.nextInt(1 << 16);
+            dense.add(value);
+            denseBits.set(value);
+        }
+        dense.add(Integer.MAX_VALUE);
+        denseBits.set(Integer.MAX_VALUE);
+
+        assertArrayEquals(sparseBits.stream().toArray(), sparse.toArray());
+        assertArrayEquals(denseBits.stream().toArray(), dense.toArray());
+        assertEquals(denseBits.cardinality(), dense.getCardinality());
+        assertTrue(dense.contains(Integer.MAX_VALUE));
+        assertFalse(dense.contains(-1));
+
+        BitSet and = (BitSet) sparseBits.clone();
+        and.and(denseBits);
+        BitSet or = (BitSet) sparseBits.clone();
+        or.or(denseBits);
+        assertArrayEquals(and.stream().toArray(), sparse.and(dense).toArray());
+        assertArrayEquals(and.stream().toArray(), dense.and(sparse).toArray());
+        assertArrayEquals(or.stream().toArray(), sparse.or(dense).toArray());
+        assertArrayEquals(denseBits.stream().toArray(), dense.and(dense).toArray());
+        assertThrows(IllegalArgumentException.class, () -> sparse.add(-5));
+    }
+
+    @Test
+    void testQueriesMatchBruteForce() {
+        Random random = new Random(11);
+        int[] numbers = new int[3_000];
+        PrimeIndex byTrialDivision = new PrimeIndex();
+        PrimeIndex byDivisors = new PrimeIndex();
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = i % 100 == 0 ? -i : 1 + random.nextInt(i % 2 == 0 ? 5_000 : 2_000_000);
+            assertEquals(i, byTrialDivision.add(numbers[i]));
+            int[] divisors = divisorsOf(numbers[i]);
+            assertEquals(i, byDivisors.add(numbers[i], divisors, 0, divisors.length));
+        }
+        assertEquals(numbers.length, byDivisors.size());
+        assertEquals(numbers[17], byDivisors.getNumber(17));
+
+        for (int d : new int[]{1, 2, 4, 7, 12, 49, 97, 360, 4_999, 1_000_003}) {
+            int[] expected = matching(numbers, n -> n > 0 && n % d == 0);
+            assertArrayEquals(expected, byTrialDivision.divisibleBy(d).toArray(), "divisor " + d);
+            assertArrayEquals(expected, byDivisors.divisibleBy(d).toArray(), "divisor " + d);
+        }
+
+        // A narrow range is answered from the bitmaps, a wide one by a scan
+        int[][] ranges = {{30, 40}, {1_000, 1_010}, {4_000, 1_500_000}, {1, Integer.MAX_VALUE}};
+        for (int[] range : ranges) {
+            int[] expected = matching(numbers, n -> hasDivisorIn(n, range[0], range[1]));
+            assertArrayEquals(expected, byDivisors.withDivisorIn(range[0], range[1]).toArray(),
+                    "range " + range[0] + ".." + range[1]);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> byDivisors.divisibleBy(0));
+        assertThrows(IllegalArgumentException.class, () -> byDivisors.withDivisorIn(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> byDivisors.add(12, new int[]{1, 2, 3}, 0, 3));
+    }
+
+    @Test
+    void testCoordinatorBuildsIndexWhileWriting() throws IOException {
+        File input = File.createTempFile("index-input", ".txt");
+        File output = File.createTempFile("index-output", ".txt");
+        input.deleteOnExit();
+        output.deleteOnExit();
+        Files.writeString(input.toPath(), "12,7,0\n35,1,49\n");
+
+        MultiThreadedCoordinator coordinator =
+                new MultiThreadedCoordinator(new OptimizedComputationEngineImpl(), new FileDataStorage(), 2);
+        try {
+            PrimeIndex index = coordinator.startIndexedComputation(
+                    input.getAbsolutePath(), output.getAbsolutePath(), ',');
+            assertEquals(6, index.size());
+            assertArrayEquals(new int[]{1, 3, 5}, index.divisibleBy(7).toArray());
+            assertArrayEquals(new int[]{5}, index.divisibleBy(49).toArray());
+            assertArrayEquals(new int[]{0, 1, 3, 4, 5}, index.divisibleBy(1).toArray());
+            assertEquals(35, index.getNumber(3));
+            assertEquals(6, Files.readAllLines(output.toPath()).size());
+        } finally {
+            coordinator.shutdown();
+        }
+    }
+
+    private static int[] divisorsOf(int n) {
+        if (n < 1) {
+            return new int[0];
+        }
+        int[] divisors = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int count = 0;
+        for (int d = 1; (long) d * d <= n; d++) {
+            if (n % d == 0) {
+                divisors[count++] = d;
+                if (d != n / d) {
+                    divisors[count++] = n / d;
+                }
+            }
+        }
+        int[] sorted = Arrays.copyOf(divisors, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static boolean hasDivisorIn(int n, int low, int high) {
+        for (int d = 1; (long) d * d <= n; d++) {
+            if (n % d == 0 && ((d >= low && d <= high) || (n / d >= low && n / d <= high))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] matching(int[] numbers, IntPredicate predicate) {
+        return IntStream.range(0, numbers.length).filter(i -> predicate.test(numbers[i])).toArray();
+    }
+}
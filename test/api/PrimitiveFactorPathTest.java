@@ -0,0 +1,82 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class PrimitiveFactorPathTest {
+
+    @Test
+    void testFindFactorsIntoMatchesFindFactors() {
+        ComputationAPI[] engines = {
+            new ComputationEngineImpl(),
+            new OptimizedComputationEngineImpl(),
+            new SieveComputationEngineImpl(10000)
+        };
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        Random random = new Random(42);
+
+        for (ComputationAPI engine : engines) {
+            for (int i = 0; i < 300; i++) {
+                int n = i < 100 ? i : random.nextInt(100000);
+                List<Integer> expected = engine.findFactors(n);
+                int count = engine.findFactorsInto(n, scratch);
+                assertEquals(expected.size(), count, "Count differs for " + n);
+                for (int j = 0; j < count; j++) {
+                    assertEquals((int) expected.get(j), scratch[j], "Factor differs for " + n);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMostDivisorsFitInScratch() {
+        ComputationAPI engine = new SieveComputationEngineImpl(1000);
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+
+        assertEquals(1600, engine.findFactorsInto(2095133040, scratch));
+        assertEquals(2095133040, scratch[1599]);
+    }
+
+    @Test
+    void testRejectsSmallScratch() {
+        ComputationAPI engine = new OptimizedComputationEngineImpl();
+        assertThrows(IllegalArgumentException.class, () -> engine.findFactorsInto(12, new int[8]));
+    }
+
+    @Test
+    void testPrimitiveResult() {
+        ComputationResult result = new OptimizedComputationEngineImpl().compute("12", new String[]{","});
+
+        assertTrue(result instanceof PrimitiveComputationResult);
+        assertEquals(6, result.getFactorCount());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 6, 12), result.getFactors());
+
+        ComputationResult failed = new PrimitiveComputationResult(false, null, 0, "Operation failed");
+        assertNull(failed.getFactors());
+        assertEquals(0, failed.getFactorCount());
+    }
+
+    @Test
+    void testFactorWriterFormatsInts() throws IOException {
+        StringWriter target = new StringWriter();
+        // A tiny buffer forces several flushes
+        try (FactorWriter writer = new FactorWriter(target, 16)) {
+            writer.write("Factors of 28: ").writeFactors(new int[]{1, 2, 4, 7, 14, 28, 99}, 6, " ").newLine();
+            writer.writeInt(0).write(",").writeInt(-45).write(",").writeInt(Integer.MIN_VALUE)
+                    .write(",").writeInt(Integer.MAX_VALUE);
+        }
+
+        assertEquals("Factors of 28: 1 2 4 7 14 28" + System.lineSeparator()
+                + "0,-45,-2147483648,2147483647", target.toString());
+        assertEquals("1, 3", FactorWriter.appendFactors(new StringBuilder(), new int[]{1, 3}, 2, ", ").toString());
+    }
+}
@@ -0,0 +1,58 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+public class SegmentedSieveFactorizerTest {
+
+    @Test
+    void testRangeMatchesSingleCalls() {
+        OptimizedComputationEngineImpl reference = new OptimizedComputationEngineImpl();
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        long[] expectedNext = {-3};
+        Thread caller = Thread.currentThread();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // A small segment size forces many segments and out-of-order completion
+            new SegmentedSieveFactorizer(executor, 4, 97).factorRange(-3, 20000, (number, factors, offset, count) -> {
+                assertSame(caller, Thread.currentThread());
+                assertEquals(expectedNext[0]++, number);
+                int expectedCount = reference.findFactorsInto(number, scratch);
+                assertArrayEquals(Arrays.copyOf(scratch, expectedCount),
+                        Arrays.copyOfRange(factors, offset, offset + count), "Factors differ for " + number);
+            });
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(20001, expectedNext[0]);
+    }
+
+    @Test
+    void testRangeAtTopOfIntRange() {
+        OptimizedComputationEngineImpl reference = new OptimizedComputationEngineImpl();
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        long[] expectedNext = {Integer.MAX_VALUE - 3000L};
+
+        reference.factorRange(Integer.MAX_VALUE - 3000, Integer.MAX_VALUE, (number, factors, offset, count) -> {
+            assertEquals(expectedNext[0]++, number);
+            int expectedCount = reference.findFactorsInto(number, scratch);
+            assertArrayEquals(Arrays.copyOf(scratch, expectedCount),
+                    Arrays.copyOfRange(factors, offset, offset + count), "Factors differ for " + number);
+        });
+        assertEquals(Integer.MAX_VALUE + 1L, expectedNext[0]);
+    }
+
+    @Test
+    void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SieveComputationEngineImpl(100).factorRange(10, 5, (number, factors, offset, count) -> { }));
+    }
+}
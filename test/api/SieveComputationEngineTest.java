@@ -0,0 +1,76 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class SieveComputationEngineTest {
+
+    @Test
+    void testMatchesReferenceEngineBelowBound() {
+        ComputationAPI reference = new ComputationEngineImpl();
+        ComputationAPI sieve = new SieveComputationEngineImpl(5000);
+
+        for (int n = 0; n <= 5000; n++) {
+            assertEquals(reference.findFactors(n), sieve.findFactors(n), "Factors differ for " + n);
+        }
+    }
+
+    @Test
+    void testFallsBackAboveBound() {
+        ComputationAPI reference = new OptimizedComputationEngineImpl();
+        // A tiny bound forces the trial-division path for almost every input
+        ComputationAPI sieve = new SieveComputationEngineImpl(100);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            int n = random.nextInt(Integer.MAX_VALUE - 1) + 1;
+            assertEquals(reference.findFactors(n), sieve.findFactors(n), "Factors differ for " + n);
+        }
+    }
+
+    @Test
+    void testDivisorsAreSorted() {
+        ComputationAPI sieve = new SieveComputationEngineImpl();
+        // 720720 = 2^4 * 3^2 * 5 * 7 * 11 * 13 has 240 divisors
+        List<Integer> factors = sieve.findFactors(720720);
+
+        assertEquals(240, factors.size());
+        Integer[] sorted = factors.toArray(new Integer[0]);
+        Arrays.sort(sorted);
+        assertEquals(Arrays.asList(sorted), factors);
+    }
+
+    @Test
+    void testEdgeCases() {
+        ComputationAPI sieve = new SieveComputationEngineImpl(1000);
+
+        assertTrue(sieve.findFactors(0).isEmpty());
+        assertTrue(sieve.findFactors(-12).isEmpty());
+        assertEquals(Arrays.asList(1), sieve.findFactors(1));
+        assertEquals(Arrays.asList(1, Integer.MAX_VALUE), sieve.findFactors(Integer.MAX_VALUE));
+        assertEquals(Arrays.asList(1, 46337, 2147117569), sieve.findFactors(46337 * 46337));
+    }
+
+    @Test
+    void testComputeParsesInput() {
+        ComputationAPI sieve = new SieveComputationEngineImpl();
+
+        ComputationResult result = sieve.compute(" 28 ", new String[]{","});
+        assertTrue(result.isSuccess());
+        assertEquals(Arrays.asList(1, 2, 4, 7, 14, 28), result.getFactors());
+
+        assertFalse(sieve.compute("invalid", new String[]{","}).isSuccess());
+    }
+
+    @Test
+    void testRejectsInvalidBound() {
+        assertThrows(IllegalArgumentException.class, () -> new SieveComputationEngineImpl(1));
+    }
+}
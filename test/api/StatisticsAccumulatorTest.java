@@ -0,0 +1,75 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import org.junit.jupiter.api.Test;
+
+public class StatisticsAccumulatorTest {
+
+    @Test
+    void testSinglePassStatistics() {
+        StatisticsAccumulator statistics = StatisticsAccumulator.of(2, 4, 4, 4, 5, 5, 7, 9);
+
+        assertEquals(8, statistics.getCount());
+        assertEquals(40.0, statistics.getSum());
+        assertEquals(5.0, statistics.getAverage());
+        assertEquals(2.0, statistics.getMin());
+        assertEquals(9.0, statistics.getMax());
+        assertEquals(4.0, statistics.getVariance(), 1e-12);
+        assertEquals(32.0 / 7, statistics.getSampleVariance(), 1e-12);
+    }
+
+    @Test
+    void testCompensatedSum() {
+        // Naive summation loses every small term next to the large ones
+        StatisticsAccumulator statistics = StatisticsAccumulator.of(1e100, 1.0, -1e100, 1.0);
+        assertEquals(2.0, statistics.getSum());
+
+        double[] tenths = new double[1_000_000];
+        Arrays.fill(tenths, 0.1);
+        assertEquals(100_000.0, StatisticsAccumulator.of(tenths).getSum());
+    }
+
+    @Test
+    void testCombinedChunksMatchSinglePass() {
+        Random random = new Random(42);
+        double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 1000 + 1e6;
+        }
+        StatisticsAccumulator whole = StatisticsAccumulator.of(values);
+
+        StatisticsAccumulator merged = new StatisticsAccumulator();
+        for (int start = 0; start < values.length; start += 777) {
+            StatisticsAccumulator chunk = new StatisticsAccumulator();
+            chunk.accept(values, start, Math.min(values.length, start + 777));
+            merged.combine(chunk);
+        }
+        StatisticsAccumulator streamed = DoubleStream.of(values).parallel()
+                .collect(StatisticsAccumulator::new, StatisticsAccumulator::accept, StatisticsAccumulator::combine);
+
+        for (StatisticsAccumulator other : new StatisticsAccumulator[]{merged, streamed}) {
+            assertEquals(whole.getCount(), other.getCount());
+            assertEquals(whole.getSum(), other.getSum(), 1e-6);
+            assertEquals(whole.getMin(), other.getMin());
+            assertEquals(whole.getMax(), other.getMax());
+            assertEquals(whole.getVariance(), other.getVariance(), 1e-6);
+        }
+    }
+
+    @Test
+    void testEnginesUseAccumulator() {
+        List<Double> numbers = List.of(3.0, -1.5, 10.0, 0.5);
+        for (ComputationAPI engine : new ComputationAPI[]{new ComputationEngineImpl(), new OptimizedComputationEngineImpl()}) {
+            assertEquals(12.0, engine.calculateSum(numbers));
+            assertEquals(3.0, engine.calculateAverage(numbers));
+            assertEquals(-1.5, engine.findMinimum(numbers));
+            assertEquals(10.0, engine.findMaximum(numbers));
+            assertEquals(12.0, engine.calculateStatistics(new double[]{3.0, -1.5, 10.0, 0.5}).getSum());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class StreamingComputeTest {
+
+    @Test
+    void testStreamsEveryNumberInOrder() throws IOException {
+        // Enough numbers to span several reader buffers and batches
+        StringBuilder input = new StringBuilder();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int number = (i * 7919) % 100_000 - 10;
+            expected.add(number);
+            input.append(number).append(i % 3 == 0 ? ";" : i % 3 == 1 ? " , " : "\n");
+        }
+
+        ComputationAPI engine = new OptimizedComputationEngineImpl();
+        List<Integer> numbers = new ArrayList<>();
+        long tokens = engine.compute(new StringReader(input.toString()), new String[]{";", ","},
+                (number, factors, offset, count) -> {
+                    numbers.add(number);
+                    assertEquals(engine.findFactors(number),
+                            Arrays.asList(Arrays.stream(factors, offset, offset + count).boxed().toArray(Integer[]::new)),
+                            "Factors differ for " + number);
+                });
+        assertEquals(10_000, tokens);
+        assertEquals(expected, numbers);
+    }
+
+    @Test
+    void testInvalidTokensAreReportedInOrder() throws IOException {
+        List<String> events = new ArrayList<>();
+        FactorConsumer sink = new FactorConsumer() {
+            @Override
+            public void accept(int number, int[] factors, int offset, int count) {
+                events.add(Integer.toString(number));
+            }
+
+            @Override
+            public void reject(String token) {
+                events.add("!" + token);
+            }
+        };
+        new SieveComputationEngineImpl().compute(
+                new StringReader("6|abc|-2147483648|2147483648|+7||1-2|99999999999999999999|-|12"),
+                new String[]{"|"}, sink);
+        assertEquals(List.of("6", "!abc", "-2147483648", "!2147483648", "7", "!1-2", "!99999999999...", "!-", "12"), events);
+    }
+
+    @Test
+    void testCoordinatorStreamsMultiNumberFiles() throws IOException {
+        File input = File.createTempFile("stream-input", ".txt");
+        File output = File.createTempFile("stream-output", ".txt");
+        input.deleteOnExit();
+        output.deleteOnExit();
+        Files.writeString(input.toPath(), "6;7\n0;28");
+
+        ComputationCoordinator coordinator =
+                new ComputationCoordinatorImpl(new OptimizedComputationEngineImpl(), new OptimizedFileDataStorage());
+        ComputeResult result = coordinator.compute(new ComputeRequestImpl(
+                input.getAbsolutePath(), output.getAbsolutePath(), new String[]{";"},
+                input.getAbsolutePath(), output.getAbsolutePath()));
+        assertTrue(result.isSuccess());
+        assertEquals(List.of("Factors: 1, 2, 3, 6", "Factors: 1, 7", "No factors found", "Factors: 1, 2, 4, 7, 14, 28"),
+                Files.readAllLines(output.toPath()));
+
+        Files.writeString(input.toPath(), "6;seven");
+        result = coordinator.compute(new ComputeRequestImpl(
+                input.getAbsolutePath(), output.getAbsolutePath(), new String[]{";"},
+                input.getAbsolutePath(), output.getAbsolutePath()));
+        assertFalse(result.isSuccess());
+        assertEquals("Computation failed: Invalid input data: seven", result.getErrorMessage());
+        // The failed job leaves the earlier results in place and no staging files behind
+        assertEquals(List.of("Factors: 1, 2, 3, 6", "Factors: 1, 7", "No factors found", "Factors: 1, 2, 4, 7, 14, 28"),
+                Files.readAllLines(output.toPath()));
+        File[] staging = output.getParentFile().listFiles(
+                (dir, name) -> name.startsWith(output.getName()) && name.endsWith(".tmp"));
+        assertEquals(0, staging.length);
+
+        File missing = new File(output.getParentFile(), output.getName() + "-missing");
+        Files.writeString(input.toPath(), " ");
+        result = coordinator.compute(new ComputeRequestImpl(
+                input.getAbsolutePath(), missing.getAbsolutePath(), new String[0],
+                input.getAbsolutePath(), missing.getAbsolutePath()));
+        assertFalse(result.isSuccess());
+        assertFalse(missing.exists());
+    }
+
+    @Test
+    void testNumbersBeyondIntRangeAreFactoredAsLongs() throws IOException {
+        File input = File.createTempFile("stream-input", ".txt");
+        File output = File.createTempFile("stream-output", ".txt");
+        input.deleteOnExit();
+        output.deleteOnExit();
+        Files.writeString(input.toPath(), "6 4294967297 -10000000000");
+
+        ComputationCoordinator coordinator =
+                new ComputationCoordinatorImpl(new OptimizedComputationEngineImpl(), new FileDataStorage());
+        ComputeResult result = coordinator.compute(new ComputeRequestImpl(
+                input.getAbsolutePath(), output.getAbsolutePath(), new String[0],
+                input.getAbsolutePath(), output.getAbsolutePath()));
+        assertTrue(result.isSuccess(), result.getErrorMessage());
+        // 2^32 + 1 = 641 * 6700417
+        assertEquals(List.of("Factors: 1, 2, 3, 6", "Factors: 1, 641, 6700417, 4294967297", "No factors found"),
+                Files.readAllLines(output.toPath()));
+    }
+
+    @Test
+    void testSingleNumberComputeSplitsOnDelimiters() {
+        for (ComputationAPI engine : List.of(new ComputationEngineImpl(), new OptimizedComputationEngineImpl(),
+                new CachingComputationEngine(new OptimizedComputationEngineImpl()))) {
+            assertEquals(List.of(1, 7), engine.compute(";7;", new String[]{";"}).getFactors());
+            ComputationResult result = engine.compute("6;7", new String[]{";"});
+            assertFalse(result.isSuccess());
+            assertEquals("Invalid input data: Expected one number but found several in \"6;7\"",
+                    result.getMessage());
+            assertFalse(engine.compute(null, null).isSuccess());
+        }
+    }
+
+    @Test
+    void testDefaultStorageHooksUseReadAndWrite() throws IOException {
+        Map<String, String> files = new HashMap<>();
+        files.put("in", "12 13");
+        DataStorage storage = new DataStorage() {
+            @Override
+            public String readData(String source, String[] delimiters) {
+                return files.get(source);
+            }
+
+            @Override
+            public void writeDataContent(String destination, String data) {
+                files.put(destination, data);
+            }
+        };
+        ComputationCoordinator coordinator = new ComputationCoordinatorImpl(new ComputationEngineImpl(), storage);
+        assertTrue(coordinator.compute(new ComputeRequestImpl("in", "out", new String[0], "in", "out")).isSuccess());
+        assertEquals("Factors: 1, 2, 3, 4, 6, 12\nFactors: 1, 13", files.get("out"));
+
+        files.put("in", "12 x");
+        assertFalse(coordinator.compute(new ComputeRequestImpl("in", "bad", new String[0], "in", "bad")).isSuccess());
+        assertFalse(files.containsKey("bad"));
+
+        try (Reader reader = storage.openReader("in")) {
+            assertEquals('1', reader.read());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class VectorComputationEngineTest {
+
+    @Test
+    void testVectorizedMatchesModuleAvailability() {
+        assertEquals(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                VectorComputationEngineImpl.isVectorized());
+    }
+
+    @Test
+    void testMatchesReferenceEngine() {
+        ComputationAPI reference = new ComputationEngineImpl();
+        ComputationAPI engine = new VectorComputationEngineImpl();
+        for (int number = -5; number <= 3000; number++) {
+            assertEquals(reference.findFactors(number), engine.findFactors(number), "Factors differ for " + number);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            int number = random.nextInt(200_000) + 1;
+            assertEquals(reference.findFactors(number), engine.findFactors(number), "Factors differ for " + number);
+        }
+    }
+
+    @Test
+    void testLargeInputsMatchScalarEngine() {
+        // Perfect squares, a prime and the int extremes exercise the sqrt boundary and exactness of the lanes
+        int[] numbers = {Integer.MAX_VALUE, 2147395600, 2147483629, 1_073_741_824, 999_999_937, 735_134_400};
+        ComputationAPI scalar = new OptimizedComputationEngineImpl();
+        ComputationAPI engine = new VectorComputationEngineImpl();
+        for (int number : numbers) {
+            assertEquals(scalar.findFactors(number), engine.findFactors(number), "Factors differ for " + number);
+        }
+    }
+}
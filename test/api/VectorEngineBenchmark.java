@@ -0,0 +1,99 @@
+package api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Throughput comparison between scalar and SIMD trial division.
+ * Run with --add-modules jdk.incubator.vector to measure the vectorized kernel;
+ * without it both engines take the scalar path.
+ */
+public class VectorEngineBenchmark {
+
+    // Number of iterations to run for averaging performance
+    private static final int DEFAULT_BENCHMARK_ITERATIONS = 5;
+    // Number of random inputs to factor
+    private static final int DEFAULT_TEST_DATA_SIZE = 2000;
+
+    private static int BENCHMARK_ITERATIONS;
+    private static int TEST_DATA_SIZE;
+
+    @BeforeAll
+    public static void setupParameters() {
+        // Load configuration from system properties or use defaults
+        BENCHMARK_ITERATIONS = Integer.getInteger("benchmark.iterations", DEFAULT_BENCHMARK_ITERATIONS);
+        TEST_DATA_SIZE = Integer.getInteger("benchmark.datasize", DEFAULT_TEST_DATA_SIZE);
+
+        System.out.println("Benchmark configuration:");
+        System.out.println("- Iterations: " + BENCHMARK_ITERATIONS);
+        System.out.println("- Test data size: " + TEST_DATA_SIZE);
+        System.out.println("- Vectorized: " + VectorComputationEngineImpl.isVectorized());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Tag("slow")
+    @EnabledIfSystemProperty(named = "run.benchmark", matches = "true")
+    public void benchmarkVectorEngine() {
+        ComputationAPI scalar = new OptimizedComputationEngineImpl();
+        ComputationAPI vector = new VectorComputationEngineImpl();
+        Random random = new Random(42); // Fixed seed for reproducibility
+
+        // Large inputs, where the loop up to the square root dominates
+        int[] testData = new int[TEST_DATA_SIZE];
+        for (int i = 0; i < testData.length; i++) {
+            testData[i] = Integer.MAX_VALUE - random.nextInt(1_000_000_000);
+        }
+
+        // Warm up the JVM for more consistent results
+        benchmarkImplementation(scalar, testData);
+        benchmarkImplementation(vector, testData);
+
+        double scalarTime = benchmarkImplementation(scalar, testData);
+        double vectorTime = benchmarkImplementation(vector, testData);
+
+        System.out.println("========== BENCHMARK RESULTS ==========");
+        System.out.println("Scalar engine: " + (testData.length / (scalarTime / 1000.0)) + " numbers/s");
+        System.out.println("Vector engine: " + (testData.length / (vectorTime / 1000.0)) + " numbers/s");
+        System.out.println("Speedup: " + (scalarTime / vectorTime) + "x");
+        System.out.println("=======================================");
+
+        // Verify correctness
+        int[] expected = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        int[] actual = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        for (int number : testData) {
+            int count = scalar.findFactorsInto(number, expected);
+            assertEquals(count, vector.findFactorsInto(number, actual), "Factor count should match for input: " + number);
+            for (int i = 0; i < count; i++) {
+                assertEquals(expected[i], actual[i], "Factors should match for input: " + number);
+            }
+        }
+    }
+
+    /**
+     * Factors every input with the given engine.
+     * Returns the average execution time in milliseconds.
+     */
+    private double benchmarkImplementation(ComputationAPI engine, int[] testData) {
+        int[] scratch = new int[ComputationAPI.MAX_FACTOR_COUNT];
+        long totalTime = 0;
+
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            long startTime = System.nanoTime();
+
+            for (int number : testData) {
+                engine.findFactorsInto(number, scratch);
+            }
+
+            long endTime = System.nanoTime();
+            totalTime += (endTime - startTime);
+        }
+
+        // Convert to milliseconds and calculate average
+        return (totalTime / 1_000_000.0) / BENCHMARK_ITERATIONS;
+    }
+}